@@ -19,6 +19,8 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-runner:1.8.2")
     testImplementation("org.mockito:mockito-core:4.3.1")
     testImplementation("jakarta.inject:jakarta.inject-tck:2.0.1")
+    testImplementation("jakarta.annotation:jakarta.annotation-api:2.1.1")
+    testImplementation("org.openjdk.jol:jol-core:0.17")
 }
 
 tasks.getByName<Test>("test") {
@@ -27,4 +29,9 @@ tasks.getByName<Test>("test") {
 java {
     sourceCompatibility = JavaVersion.VERSION_17
     targetCompatibility = JavaVersion.VERSION_17
-}
\ No newline at end of file
+}
+tasks.register<JavaExec>("benchmark") {
+    group = "verification"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("com.tdd.di.RegistryBenchmark")
+}
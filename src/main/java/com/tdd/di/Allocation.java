@@ -0,0 +1,7 @@
+package com.tdd.di;
+
+public record Allocation(long resolutions, long bytes) {
+    public long bytesPerResolution() {
+        return resolutions == 0 ? bytes : bytes / resolutions;
+    }
+}
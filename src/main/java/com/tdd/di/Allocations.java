@@ -0,0 +1,52 @@
+package com.tdd.di;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+class Allocations {
+    private final Map<Component, Totals> totals = new ConcurrentHashMap<>();
+    private final ThreadLocal<Frames> frames = ThreadLocal.withInitial(Frames::new);
+    private final com.sun.management.ThreadMXBean threads;
+
+    private Allocations(com.sun.management.ThreadMXBean threads) {
+        this.threads = threads;
+    }
+
+    static Allocations create() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported())
+            throw ContextConfig.ContextConfigException.allocationsUnsupported();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return new Allocations(threads);
+    }
+
+    void enter() {
+        frames.get().push(threads.getCurrentThreadAllocatedBytes());
+    }
+
+    void exit(Component component, boolean resolution) {
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long exclusive = frames.get().pop(allocated);
+        Totals total = totals.computeIfAbsent(component, c -> new Totals());
+        total.bytes.add(exclusive);
+        if (resolution) total.resolutions.increment();
+    }
+
+    void reset(Component component) {
+        totals.remove(component);
+    }
+
+    Map<Component, Allocation> report() {
+        Map<Component, Allocation> report = new HashMap<>();
+        totals.forEach((component, total) -> report.put(component, new Allocation(total.resolutions.sum(), total.bytes.sum())));
+        return Map.copyOf(report);
+    }
+
+    private static class Totals {
+        private final LongAdder resolutions = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+    }
+}
@@ -0,0 +1,136 @@
+package com.tdd.di;
+
+import jakarta.inject.Provider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class AssistedProvider<F> implements ComponentProvider<F> {
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType MEMBER = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private final Class<F> factory;
+    private final MethodHandle constructor;
+    private final int[] parameters;
+    private final List<ComponentRef<?>> required = new ArrayList<>();
+    private final List<Member> members = new ArrayList<>();
+
+    private record Member(MethodHandle handle, int[] dependencies) {
+    }
+
+    AssistedProvider(Class<F> factory, Class<?> implementation) {
+        this.factory = factory;
+        Method create = create(factory, implementation);
+        InjectionProvider<?> plan = new InjectionProvider<>(implementation);
+        InjectionProvider.Injectable<? extends Constructor<?>> injectConstructor = plan.injectConstructor();
+        Parameter[] declared = injectConstructor.element().getParameters();
+        List<Type> assisted = new ArrayList<>();
+        parameters = new int[declared.length];
+        for (int i = 0; i < declared.length; i++) {
+            if (declared[i].isAnnotationPresent(Assisted.class)) {
+                parameters[i] = assisted.size();
+                assisted.add(declared[i].getParameterizedType());
+            } else parameters[i] = -1 - require(injectConstructor.required()[i]);
+        }
+        if (!assisted.equals(Arrays.asList(create.getGenericParameterTypes())))
+            throw ContextConfig.ContextConfigException.illegalFactory(factory, implementation);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            constructor = lookup.unreflectConstructor(injectConstructor.element())
+                    .asSpreader(Object[].class, declared.length).asType(CONSTRUCTOR);
+            for (InjectionProvider.Injectable<?> member : plan.injectMembers()) {
+                MethodHandle handle = member.element() instanceof Field field ? lookup.unreflectSetter(field) : lookup.unreflect((Method) member.element());
+                members.add(new Member(handle.asSpreader(Object[].class, member.required().length).asType(MEMBER),
+                        Arrays.stream(member.required()).mapToInt(this::require).toArray()));
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Method create(Class<?> factory, Class<?> implementation) {
+        List<Method> abstracts = Arrays.stream(factory.getMethods()).filter(m -> Modifier.isAbstract(m.getModifiers())).toList();
+        if (!factory.isInterface() || abstracts.size() != 1 || !abstracts.get(0).getReturnType().isAssignableFrom(implementation))
+            throw ContextConfig.ContextConfigException.illegalFactory(factory, implementation);
+        return abstracts.get(0);
+    }
+
+    private int require(ComponentRef<?> dependency) {
+        required.add(dependency);
+        return required.size() - 1;
+    }
+
+    @Override
+    public F get(final Context context) {
+        Provider<?>[] dependencies = required.stream().map(dependency -> link(dependency, context)).toArray(Provider<?>[]::new);
+        return factory.cast(Proxy.newProxyInstance(factory.getClassLoader(), new Class<?>[]{factory}, new Factory(dependencies)));
+    }
+
+    private static Provider<?> link(ComponentRef<?> dependency, Context context) {
+        if (!dependency.isContainer()) return (Provider<?>) context.get(ComponentRef.of(new ProviderType(dependency.component().type()), dependency.component().qualifier())).get();
+        if (dependency.getContainer() == Provider.class) {
+            Object provider = context.get(dependency).get();
+            return () -> provider;
+        }
+        return () -> context.get(dependency).get();
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return required.stream().<ComponentRef<?>>map(d -> d.isContainer() ? d : ComponentRef.of(new ProviderType(d.component().type()), d.component().qualifier())).toList();
+    }
+
+    private class Factory implements InvocationHandler {
+        private final Provider<?>[] dependencies;
+
+        Factory(Provider<?>[] dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) return object(proxy, method, args);
+            if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+            Object[] arguments = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++)
+                arguments[i] = parameters[i] >= 0 ? args[parameters[i]] : dependencies[-1 - parameters[i]].get();
+            Object instance = (Object) constructor.invokeExact(arguments);
+            for (Member member : members) {
+                Object[] values = new Object[member.dependencies().length];
+                for (int i = 0; i < values.length; i++) values[i] = dependencies[member.dependencies()[i]].get();
+                member.handle().invokeExact(instance, values);
+            }
+            return instance;
+        }
+
+        private Object object(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> factory.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            };
+        }
+    }
+
+    private record ProviderType(Type component) implements ParameterizedType {
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[]{component};
+        }
+
+        @Override
+        public Type getRawType() {
+            return Provider.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+    }
+}
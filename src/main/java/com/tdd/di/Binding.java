@@ -0,0 +1,14 @@
+package com.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+public record Binding(Class<?> type, Class<?> implementation, Object instance, List<Annotation> annotations) {
+    public static <Type, Implementation extends Type> Binding component(Class<Type> type, Class<Implementation> implementation, Annotation... annotations) {
+        return new Binding(type, implementation, null, List.of(annotations));
+    }
+
+    public static <Type> Binding instance(Class<Type> type, Type instance, Annotation... annotations) {
+        return new Binding(type, null, instance, List.of(annotations));
+    }
+}
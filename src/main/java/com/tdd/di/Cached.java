@@ -0,0 +1,18 @@
+package com.tdd.di;
+
+import jakarta.inject.Scope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+@Scope
+@Documented
+@Retention(RUNTIME)
+public @interface Cached {
+    long ttl() default 60;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
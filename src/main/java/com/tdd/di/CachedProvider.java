@@ -0,0 +1,193 @@
+package com.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+class CachedProvider<T> implements ComponentProvider<T> {
+    private final ComponentProvider<T> provider;
+    private final long ttl;
+    private final Scope scope;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Entry<T> entry;
+    private volatile long accessed;
+    private int generation;
+
+    CachedProvider(final ComponentProvider<T> provider, long ttl, final Scope scope) {
+        this.provider = provider;
+        this.ttl = ttl;
+        this.scope = scope;
+    }
+
+    @Override
+    public T get(final Context context) {
+        Entry<T> current = entry;
+        T instance = current == null ? null : current.instance().get();
+        if (instance == null) return load(context);
+        long now = scope.clock.getAsLong();
+        if (now - current.expires() >= 0) refresh(context);
+        if (scope.isBounded()) accessed = now;
+        return instance;
+    }
+
+    private T load(Context context) {
+        T instance;
+        synchronized (this) {
+            Entry<T> current = entry;
+            instance = current == null ? null : current.instance().get();
+            if (instance != null) return instance;
+            instance = provider.get(context);
+            store(instance);
+        }
+        scope.admit(this);
+        return instance;
+    }
+
+    private void refresh(Context context) {
+        if (!refreshing.compareAndSet(false, true)) return;
+        int generation;
+        synchronized (this) {
+            generation = this.generation;
+        }
+        try {
+            scope.executor().execute(() -> {
+                try {
+                    T instance = provider.get(context);
+                    synchronized (this) {
+                        if (this.generation != generation) return;
+                        store(instance);
+                    }
+                    scope.admit(this);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private void store(T instance) {
+        long now = scope.clock.getAsLong();
+        accessed = now;
+        entry = new Entry<>(new SoftReference<>(instance), now + ttl);
+    }
+
+    private void evict() {
+        entry = null;
+    }
+
+    @Override
+    public ComponentProvider<T> renew() {
+        return new CachedProvider<>(provider.renew(), ttl, scope);
+    }
+
+    @Override
+    public List<T> dispose() {
+        Entry<T> current;
+        synchronized (this) {
+            generation++;
+            current = entry;
+            entry = null;
+        }
+        scope.forget(this);
+        T instance = current == null ? null : current.instance().get();
+        return instance == null ? List.of() : List.of(instance);
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+
+    @Override
+    public List<ComponentRef<?>> getConstructionDependencies() {
+        return provider.getConstructionDependencies();
+    }
+
+    private record Entry<T>(SoftReference<T> instance, long expires) {
+    }
+
+    static class Scope implements ContextConfig.ScopeProvider {
+        private volatile int maxSize;
+        private final Supplier<? extends Executor> executors;
+        private final LongSupplier clock;
+        private Executor executor;
+        private final Set<CachedProvider<?>> cached = ConcurrentHashMap.newKeySet();
+
+        public Scope() {
+            this(Integer.MAX_VALUE);
+        }
+
+        public Scope(int maxSize) {
+            this(maxSize, Threads::executor, System::nanoTime);
+        }
+
+        Scope(int maxSize, final Supplier<? extends Executor> executors, final LongSupplier clock) {
+            this.maxSize = maxSize;
+            this.executors = executors;
+            this.clock = clock;
+        }
+
+        private synchronized Executor executor() {
+            if (executor == null) executor = executors.get();
+            return executor;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (executor instanceof ExecutorService service) service.shutdown();
+            executor = null;
+        }
+
+        @Override
+        public ComponentProvider<?> create(final ComponentProvider<?> provider) {
+            return new CachedProvider<>(provider, 60_000_000_000L, this);
+        }
+
+        @Override
+        public ComponentProvider<?> create(final Class<?> implementation, final Annotation scope, final ComponentProvider<?> provider) {
+            Cached cached = (Cached) scope;
+            if (cached.ttl() <= 0) throw ContextConfig.ContextConfigException.illegalAnnotation(implementation, List.of(scope));
+            return new CachedProvider<>(provider, cached.unit().toNanos(cached.ttl()), this);
+        }
+
+        void maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            evict(null);
+        }
+
+        private boolean isBounded() {
+            return maxSize != Integer.MAX_VALUE;
+        }
+
+        private void admit(CachedProvider<?> provider) {
+            if (cached.add(provider) && cached.size() > maxSize) evict(provider);
+        }
+
+        private void evict(CachedProvider<?> admitted) {
+            while (cached.size() > maxSize) {
+                CachedProvider<?> eldest = null;
+                for (CachedProvider<?> candidate : cached)
+                    if (candidate != admitted && (eldest == null || candidate.accessed - eldest.accessed < 0)) eldest = candidate;
+                if (eldest == null) return;
+                if (cached.remove(eldest)) eldest.evict();
+            }
+        }
+
+        private void forget(CachedProvider<?> provider) {
+            cached.remove(provider);
+        }
+
+        int size() {
+            return cached.size();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tdd.di;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class ComponentIndex {
+    private final ClassLoader loader;
+
+    ComponentIndex(ClassLoader loader) {
+        this.loader = loader;
+    }
+
+    Stream<Class<?>> components() {
+        try {
+            List<String> names = Collections.list(loader.getResources(ComponentIndexProcessor.INDEX)).stream()
+                    .flatMap(index -> names(index).stream()).distinct().toList();
+            return names.parallelStream().map(this::load);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Class<?> load(String name) {
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException e) {
+            throw ContextConfig.ContextConfigException.unknownComponent(name);
+        }
+    }
+
+    private static List<String> names(URL index) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), UTF_8))) {
+            return reader.lines().map(String::trim).filter(line -> !line.isEmpty()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
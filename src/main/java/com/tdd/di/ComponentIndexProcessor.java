@@ -0,0 +1,60 @@
+package com.tdd.di;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.Set;
+import java.util.TreeSet;
+
+@SupportedAnnotationTypes({"jakarta.inject.Inject", "jakarta.inject.Singleton"})
+public class ComponentIndexProcessor extends AbstractProcessor {
+    static final String INDEX = "META-INF/com.tdd.di/components";
+
+    private final Set<String> components = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                Element type = element instanceof TypeElement ? element : element.getEnclosingElement();
+                if (type instanceof TypeElement component && isComponent(component))
+                    components.add(processingEnv.getElementUtils().getBinaryName(component).toString());
+            }
+        }
+        if (round.processingOver() && !components.isEmpty()) write();
+        return false;
+    }
+
+    private static boolean isComponent(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) return false;
+        return switch (type.getNestingKind()) {
+            case TOP_LEVEL -> true;
+            case MEMBER -> type.getModifiers().contains(Modifier.STATIC);
+            default -> false;
+        };
+    }
+
+    private void write() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (Writer writer = index.openWriter()) {
+                for (String component : components) writer.write(component + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, MessageFormat.format("Can not write component index: {0}", e.getMessage()));
+        }
+    }
+}
@@ -7,11 +7,31 @@ import static java.util.List.of;
 interface ComponentProvider<T> {
     T get(Context context);
 
+    default boolean constructs() {
+        return false;
+    }
+
     default void statics(Context context) {
 
     }
 
+    default ComponentProvider<T> renew() {
+        return this;
+    }
+
+    default void release(T instance) {
+
+    }
+
+    default List<T> dispose() {
+        return of();
+    }
+
     default List<ComponentRef<?>> getDependencies() {
         return of();
     }
+
+    default List<ComponentRef<?>> getConstructionDependencies() {
+        return getDependencies();
+    }
 }
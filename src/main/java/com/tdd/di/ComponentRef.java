@@ -8,6 +8,8 @@ import java.util.Objects;
 public class ComponentRef<ComponentType> {
     private Component component;
     private Type container;
+    private Class<?> keyType;
+    private int componentHash;
 
     public static <ComponentType> ComponentRef<ComponentType> of(Class<ComponentType> component) {
         return of(component, null);
@@ -39,13 +41,21 @@ protected ComponentRef(Annotation qualifier) {
 
     private void init(Type type, Annotation qualifier) {
         if (type instanceof ParameterizedType container) {
-            component = new Component((Class<ComponentType>) container.getActualTypeArguments()[0], qualifier);
+            Type[] arguments = container.getActualTypeArguments();
+            component = new Component((Class<ComponentType>) arguments[arguments.length - 1], qualifier);
             this.container = container.getRawType();
+            if (arguments.length == 2) keyType = keyType(arguments[0]);
         } else {
             component = new Component((Class<ComponentType>) type, qualifier);
         }
     }
 
+    private static Class<?> keyType(Type key) {
+        if (key instanceof Class<?> type) return type;
+        if (key instanceof ParameterizedType type) return (Class<?>) type.getRawType();
+        return Object.class;
+    }
+
     public boolean isContainer() {
         return container != null;
     }
@@ -54,20 +64,31 @@ protected ComponentRef(Annotation qualifier) {
         return container;
     }
 
+    Class<?> getKeyType() {
+        return keyType;
+    }
+
     public Component component() {
         return component;
     }
 
+    int componentHash() {
+        int hash = componentHash;
+        if (hash == 0) componentHash = hash = component.hashCode();
+        return hash;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ComponentRef<?> componentRef = (ComponentRef<?>) o;
-        return component.equals(componentRef.component) && Objects.equals(container, componentRef.container);
+        return component.equals(componentRef.component) && Objects.equals(container, componentRef.container)
+                && Objects.equals(keyType, componentRef.keyType);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(component, container);
+        return Objects.hash(component, container, keyType);
     }
 }
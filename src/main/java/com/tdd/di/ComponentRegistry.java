@@ -0,0 +1,134 @@
+package com.tdd.di;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+final class ComponentRegistry<V> extends AbstractMap<Component, V> {
+    static final int ABSENT = -1;
+
+    private final Component[] keys;
+    private final int[] hashes;
+    private final Object[] values;
+    private final int size;
+
+    private ComponentRegistry(Map<Component, ? extends V> components) {
+        List<? extends Entry<Component, ? extends V>> entries = List.copyOf(components.entrySet());
+        int capacity = entries.size() + entries.size() / 2 + 1;
+        keys = new Component[capacity];
+        hashes = new int[capacity];
+        values = new Object[capacity];
+        size = entries.size();
+        for (Entry<Component, ? extends V> entry : entries) {
+            Component component = entry.getKey();
+            int hash = spread(component.hashCode());
+            int slot = home(hash);
+            while (keys[slot] != null) slot = next(slot);
+            keys[slot] = component;
+            hashes[slot] = hash;
+            values[slot] = entry.getValue();
+        }
+    }
+
+    static <V> ComponentRegistry<V> of(Map<Component, ? extends V> components) {
+        return new ComponentRegistry<>(components);
+    }
+
+    int slot(ComponentRef<?> ref) {
+        return slot(ref.component(), ref.componentHash());
+    }
+
+    int slot(Component component) {
+        return slot(component, component.hashCode());
+    }
+
+    private int slot(Component component, int hashCode) {
+        int hash = spread(hashCode);
+        for (int slot = home(hash); keys[slot] != null; slot = next(slot))
+            if (hashes[slot] == hash && (keys[slot] == component || keys[slot].equals(component))) return slot;
+        return ABSENT;
+    }
+
+    @SuppressWarnings("unchecked")
+    V value(int slot) {
+        return slot == ABSENT ? null : (V) values[slot];
+    }
+
+    V get(ComponentRef<?> ref) {
+        return value(slot(ref));
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Component component ? value(slot(component)) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Component component && slot(component) != ABSENT;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Component, ? super V> action) {
+        for (int slot = 0; slot < keys.length; slot++)
+            if (keys[slot] != null) action.accept(keys[slot], (V) values[slot]);
+    }
+
+    @Override
+    public Set<Entry<Component, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Component, V>> iterator() {
+                return new Iterator<>() {
+                    private int slot = next(0);
+
+                    private int next(int from) {
+                        while (from < keys.length && keys[from] == null) from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < keys.length;
+                    }
+
+                    @Override
+                    public Entry<Component, V> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Entry<Component, V> entry = new SimpleImmutableEntry<>(keys[slot], value(slot));
+                        slot = next(slot + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int home(int hash) {
+        return (int) (((hash & 0xffffffffL) * keys.length) >>> 32);
+    }
+
+    private int next(int slot) {
+        return slot + 1 == keys.length ? 0 : slot + 1;
+    }
+
+    private static int spread(int hash) {
+        return hash * 0x9e3779b9;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tdd.di;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class ConstructionTimes {
+    private final Map<Component, Long> nanos = new ConcurrentHashMap<>();
+    private final ThreadLocal<Frames> frames = ThreadLocal.withInitial(Frames::new);
+
+    void enter() {
+        frames.get().push(System.nanoTime());
+    }
+
+    void exit(Component component) {
+        long exclusive = frames.get().pop(System.nanoTime());
+        nanos.putIfAbsent(component, exclusive);
+    }
+
+    void reset(Component component) {
+        nanos.remove(component);
+    }
+
+    long nanos(Component component) {
+        return nanos.getOrDefault(component, 0L);
+    }
+}
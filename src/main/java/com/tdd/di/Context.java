@@ -1,9 +1,38 @@
 package com.tdd.di;
 
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
 import java.util.Optional;
 
-public interface Context {
+public interface Context extends AutoCloseable {
 
     <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef);
 
+    <Instance> Instance injectMembers(Instance instance);
+
+    <ComponentType> Map<Annotation, Provider<ComponentType>> getAllQualified(Class<ComponentType> type);
+
+    default Object[] getAll(ComponentRef<?>... componentRefs) {
+        Object[] instances = new Object[componentRefs.length];
+        for (int i = 0; i < componentRefs.length; i++) instances[i] = get(componentRefs[i]).orElse(null);
+        return instances;
+    }
+
+    default Batch batch(ComponentRef<?>... componentRefs) {
+        ComponentRef<?>[] refs = componentRefs.clone();
+        return () -> getAll(refs);
+    }
+
+    default <ComponentType> void release(ComponentRef<ComponentType> componentRef, ComponentType instance) {
+    }
+
+    @Override
+    void close();
+
+    interface Batch {
+        Object[] get();
+    }
+
 }
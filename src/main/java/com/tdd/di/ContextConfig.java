@@ -5,12 +5,35 @@ import jakarta.inject.Qualifier;
 import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.tdd.di.ContextConfig.ContextConfigError.circularDependencies;
@@ -21,39 +44,188 @@ import static java.util.List.of;
 import static java.util.stream.Collectors.joining;
 
 public class ContextConfig {
-    private final Map<Component, ComponentProvider<?>> components = new HashMap<>();
-    private final Map<Class<?>, ScopeProvider> scopes = new HashMap<>();
-    private final List<Component> staticsComponents = new ArrayList<>();
+    private final Map<Component, ComponentProvider<?>> components = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ScopeProvider> scopes = new ConcurrentHashMap<>();
+    private final List<Component> staticsComponents = new CopyOnWriteArrayList<>();
+    private final Set<Component> validated = ConcurrentHashMap.newKeySet();
+    private final Map<Component, Multibinding> multibindings = new ConcurrentHashMap<>();
+    private final Set<Component> asynchronous = ConcurrentHashMap.newKeySet();
+    private final Map<Component, Annotation> scoped = new ConcurrentHashMap<>();
+    private final Map<Component, List<Annotation>> contributedScopes = new ConcurrentHashMap<>();
+    private final List<InterceptedProvider.Interception> interceptions = new CopyOnWriteArrayList<>();
+    private final Set<Implementation> implementations = ConcurrentHashMap.newKeySet();
+    private volatile Duration closeTimeout = Duration.ofSeconds(30);
+    private volatile double traceRate;
+    private volatile Consumer<ResolutionTrace> traceSink;
+    private volatile Allocations allocations;
+    private volatile ConstructionTimes times;
+    private final ResolutionScope resolutions = new ResolutionScope();
+    private final CachedProvider.Scope caches = new CachedProvider.Scope();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long generation;
+    private volatile long closes;
 
     public ContextConfig() {
         scope(Singleton.class, SingletonProvider::new);
+        scope(ResolutionScoped.class, resolutions);
+        scope(Pooled.class, new PooledProvider.Scope());
+        scope(Cached.class, caches);
     }
 
     public <Type> void instance(Class<Type> type, Type instance) {
-        bind(new Component(type, null), (ComponentProvider<Object>) context -> instance, false);
+        bind(type, of(), new InstanceProvider<>(instance), false);
     }
 
     public <Type> void instance(Class<Type> type, Type instance, Annotation... annotations) {
         bindInstance(type, instance, annotations, false);
     }
 
-    private void bindInstance(Class<?> type, Object instance, Annotation[] annotations, boolean statics) {
+    private List<Component> bindInstance(Class<?> type, Object instance, Annotation[] annotations, boolean statics) {
         Bindings bindings = new Bindings(type, annotations);
-        bind(type, bindings.qualifiers(), context -> instance, statics);
+        return bind(type, bindings.qualifiers(), new InstanceProvider<>(instance), statics);
     }
 
     public <Type, Implementation extends Type> void component(Class<Type> type, Class<Implementation> implementation, Annotation... annotations) {
         bindComponent(type, implementation, annotations, false);
     }
 
-    private void bindComponent(Class<?> type, Class<?> implementation, Annotation[] annotations, boolean statics) {
+    private List<Component> bindComponent(Class<?> type, Class<?> implementation, Annotation[] annotations, boolean statics) {
         Bindings bindings = new Bindings(implementation, annotations);
-        bind(type, bindings.qualifiers(), bindings.provider(this::scopeProvider), statics);
+        boolean async = bindings.async();
+        Optional<Annotation> scope = bindings.scope();
+        ComponentProvider<?> provider = provider(type, bindings);
+        lock.writeLock().lock();
+        try {
+            List<Component> bound = bind(type, bindings.qualifiers(), provider, statics);
+            if (async) asynchronous.addAll(bound);
+            scope.ifPresent(s -> bound.forEach(c -> scoped.put(c, s)));
+            return bound;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public <Factory> void factory(Class<Factory> factory, Class<?> implementation, Annotation... annotations) {
+        Bindings bindings = new Bindings(factory, annotations);
+        bind(factory, bindings.qualifiers(), new SingletonProvider<>(new AssistedProvider<>(factory, implementation)), false);
+    }
+
+    public void bindAll(Collection<Binding> bindings) {
+        record Prepared(List<Component> components, ComponentProvider<?> provider, boolean async, Optional<Annotation> scope) {
+        }
+        List<Binding> declared = List.copyOf(bindings);
+        Object[] results = new Object[declared.size()];
+        IntStream.range(0, declared.size()).parallel().forEach(i -> {
+            Binding binding = declared.get(i);
+            Annotation[] annotations = binding.annotations().toArray(Annotation[]::new);
+            try {
+                if (binding.implementation() == null) {
+                    Bindings instance = new Bindings(binding.type(), annotations);
+                    results[i] = new Prepared(componentsOf(binding.type(), instance.qualifiers()), new InstanceProvider<>(binding.instance()), false, Optional.empty());
+                } else {
+                    Bindings component = new Bindings(binding.implementation(), annotations);
+                    boolean async = component.async();
+                    results[i] = new Prepared(componentsOf(binding.type(), component.qualifiers()), provider(binding.type(), component), async, component.scope());
+                }
+            } catch (ContextConfigException | InjectionProvider.ComponentError e) {
+                results[i] = e;
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            List<Throwable> errors = new ArrayList<>();
+            Set<Component> bound = new HashSet<>(components.keySet());
+            for (Object result : results) {
+                if (result instanceof Throwable error) errors.add(error);
+                else for (Component component : ((Prepared) result).components())
+                    if (!bound.add(component)) errors.add(ContextConfigException.duplicated(component));
+            }
+            if (!errors.isEmpty()) throw ContextConfigException.invalidBindings(errors);
+
+            for (Object result : results) {
+                Prepared prepared = (Prepared) result;
+                prepared.components().forEach(component -> components.put(component, prepared.provider()));
+                if (prepared.async()) asynchronous.addAll(prepared.components());
+                prepared.scope().ifPresent(scope -> prepared.components().forEach(c -> scoped.put(c, scope)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
-    private <Type> void bind(final Class<Type> type, List<Annotation> qualifiers, final ComponentProvider<?> provider, boolean statics) {
-        if (qualifiers.isEmpty()) bind(new Component(type, null), provider, statics);
-        for (Annotation qualifier : qualifiers) bind(new Component(type, qualifier), provider, statics);
+    private record Implementation(Class<?> type, Class<?> implementation) {
+    }
+
+    private ComponentProvider<?> provider(Class<?> type, Bindings bindings) {
+        implementations.add(new Implementation(type, bindings.type));
+        ComponentProvider<?> provider = bindings.provider(injectProvider -> InterceptedProvider.intercept((Class<Object>) type, bindings.type,
+                        (ComponentProvider<Object>) injectProvider, interceptions),
+                (scope, injectProvider) -> scopeProvider(bindings.type, scope, injectProvider));
+        if (!bindings.lazy()) return provider;
+        if (!type.isInterface()) throw ContextConfigException.lazyNonInterface(type);
+        return new LazyProvider<>((Class<Object>) type, (ComponentProvider<Object>) provider);
+    }
+
+    private <Type> List<Component> bind(final Class<Type> type, List<Annotation> qualifiers, final ComponentProvider<?> provider, boolean statics) {
+        List<Component> bound = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Component component : componentsOf(type, qualifiers)) {
+                bind(component, provider, statics);
+                bound.add(component);
+            }
+        } catch (ContextConfigException e) {
+            bound.forEach(component -> components.remove(component, provider));
+            staticsComponents.removeAll(bound);
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return bound;
+    }
+
+    private static List<Component> componentsOf(Class<?> type, List<Annotation> qualifiers) {
+        if (qualifiers.isEmpty()) return of(new Component(type, null));
+        return qualifiers.stream().map(qualifier -> new Component(type, qualifier)).toList();
+    }
+
+    public <Type, Implementation extends Type> void contribute(Class<Type> type, Class<Implementation> implementation, Annotation... annotations) {
+        Bindings bindings = new Bindings(implementation, annotations);
+        contribute(type, bindings.qualifiers(), provider(type, bindings), null, bindings.scope());
+    }
+
+    public <Type> void contributeInstance(Class<Type> type, Type instance, Annotation... annotations) {
+        Bindings bindings = new Bindings(type, annotations);
+        contribute(type, bindings.qualifiers(), new InstanceProvider<>(instance), null, Optional.empty());
+    }
+
+    public <Type, Implementation extends Type> void contribute(Class<Type> type, Object key, Class<Implementation> implementation, Annotation... annotations) {
+        Bindings bindings = new Bindings(implementation, annotations);
+        contribute(type, bindings.qualifiers(), provider(type, bindings), Objects.requireNonNull(key), bindings.scope());
+    }
+
+    public <Type> void contributeInstance(Class<Type> type, Object key, Type instance, Annotation... annotations) {
+        Bindings bindings = new Bindings(type, annotations);
+        contribute(type, bindings.qualifiers(), new InstanceProvider<>(instance), Objects.requireNonNull(key), Optional.empty());
+    }
+
+    private void contribute(Class<?> type, List<Annotation> qualifiers, ComponentProvider<?> provider, Object key, Optional<Annotation> scope) {
+        List<Component> contributed = componentsOf(type, qualifiers);
+        lock.writeLock().lock();
+        try {
+            for (Component component : contributed) {
+                Multibinding multibinding = multibindings.getOrDefault(component, new Multibinding());
+                if (key == null) multibindings.put(component, multibinding.element(provider));
+                else if (multibinding.contains(key)) throw ContextConfigException.duplicatedKey(component, key);
+                else multibindings.put(component, multibinding.entry(key, provider));
+                scope.ifPresent(s -> contributedScopes.computeIfAbsent(component, c -> new CopyOnWriteArrayList<>()).add(s));
+            }
+            generation++;
+            if (!validated.isEmpty()) dependents(contributed, dependency -> true).forEach(validated::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     static class Bindings {
@@ -91,12 +263,31 @@ public class ContextConfig {
             return stream(implementation.getAnnotations()).filter(a -> a.annotationType().isAnnotationPresent(Scope.class)).toList();
         }
 
-        private ComponentProvider<?> provider(BiFunction<Annotation, ComponentProvider<?>, ComponentProvider<?>> scoped) {
-            ComponentProvider<?> injectProvider = new InjectionProvider<>(type);
+        private boolean lazy() {
+            return type.isAnnotationPresent(LazyInit.class);
+        }
+
+        private boolean async() {
+            if (!type.isAnnotationPresent(AsyncInit.class)) return false;
+            if (scope().isEmpty()) throw ContextConfigException.unscopedAsync(type);
+            return true;
+        }
+
+        private ComponentProvider<?> provider(UnaryOperator<ComponentProvider<?>> intercepted, BiFunction<Annotation, ComponentProvider<?>, ComponentProvider<?>> scoped) {
+            ComponentProvider<?> injectProvider = intercepted.apply(new InjectionProvider<>(type));
             return scope().<ComponentProvider<?>>map(s -> scoped.apply(s, injectProvider)).orElse(injectProvider);
         }
     }
 
+    public void discover() {
+        discover(Thread.currentThread().getContextClassLoader());
+    }
+
+    public void discover(ClassLoader loader) {
+        bindAll(new ComponentIndex(loader).components().map(type -> new Binding(type, type, null,
+                stream(type.getAnnotations()).filter(a -> a.annotationType().isAnnotationPresent(Qualifier.class)).toList())).toList());
+    }
+
     public void from(final Config config) {
         new DSL(config).bind();
     }
@@ -104,69 +295,612 @@ public class ContextConfig {
     private @interface Illegal {
     }
 
-    private ComponentProvider<?> scopeProvider(Annotation scope, final ComponentProvider<?> injectProvider) {
+    private ComponentProvider<?> scopeProvider(Class<?> implementation, Annotation scope, final ComponentProvider<?> injectProvider) {
         if (!scopes.containsKey(scope.annotationType()))
             throw ContextConfigException.unknownScope(scope.annotationType());
-        return scopes.get(scope.annotationType()).create(injectProvider);
+        return scopes.get(scope.annotationType()).create(implementation, scope, injectProvider);
+    }
+
+    public <Type, Implementation extends Type> void rebind(Class<Type> type, Class<Implementation> implementation, Annotation... annotations) {
+        Bindings bindings = new Bindings(implementation, annotations);
+        boolean async = bindings.async();
+        rebind(type, bindings.qualifiers(), provider(type, bindings), async, bindings.scope());
+    }
+
+    public <Type> void rebindInstance(Class<Type> type, Type instance, Annotation... annotations) {
+        Bindings bindings = new Bindings(type, annotations);
+        rebind(type, bindings.qualifiers(), new InstanceProvider<>(instance), false, Optional.empty());
+    }
+
+    private void rebind(Class<?> type, List<Annotation> qualifiers, ComponentProvider<?> provider, boolean async, Optional<Annotation> scope) {
+        List<Component> rebound = componentsOf(type, qualifiers);
+        lock.writeLock().lock();
+        try {
+            rebound.forEach(asynchronous::remove);
+            rebound.forEach(scoped::remove);
+            if (times != null) rebound.forEach(times::reset);
+            if (allocations != null) rebound.forEach(allocations::reset);
+            dependents(rebound, dependency -> true).forEach(validated::remove);
+            generation++;
+            Set<Component> affected = dependents(rebound, dependency -> !dependency.isContainer());
+            Map<ComponentProvider<?>, ComponentProvider<?>> renewed = new IdentityHashMap<>();
+            UnaryOperator<ComponentProvider<?>> renew = p -> renewed.computeIfAbsent(p, ComponentProvider::renew);
+            affected.stream().filter(c -> !rebound.contains(c) && components.containsKey(c)).forEach(c -> components.put(c, renew.apply(components.get(c))));
+            affected.stream().filter(multibindings::containsKey).forEach(c -> multibindings.put(c, multibindings.get(c).renew(affected, renew)));
+            rebound.forEach(component -> components.put(component, provider));
+            if (async) asynchronous.addAll(rebound);
+            scope.ifPresent(s -> rebound.forEach(c -> scoped.put(c, s)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Set<Component> dependents(Collection<Component> changed, Predicate<ComponentRef<?>> edge) {
+        Map<Component, List<Component>> dependents = new HashMap<>();
+        BiConsumer<Component, List<ComponentRef<?>>> index = (component, dependencies) -> dependencies.stream().filter(edge)
+                .forEach(dependency -> dependents.computeIfAbsent(dependency.component(), c -> new ArrayList<>()).add(component));
+        components.forEach((component, provider) -> index.accept(component, provider.getDependencies()));
+        multibindings.forEach((component, multibinding) -> index.accept(component, multibinding.getDependencies()));
+        Set<Component> affected = new HashSet<>(changed);
+        Deque<Component> pending = new ArrayDeque<>(changed);
+        while (!pending.isEmpty())
+            for (Component dependent : dependents.getOrDefault(pending.pop(), of()))
+                if (affected.add(dependent)) pending.push(dependent);
+        return affected;
     }
 
     private <Type, Implementation extends Type> void bind(Component component, final ComponentProvider<Implementation> provider, boolean statics) {
-        if (components.containsKey(component)) throw ContextConfigException.duplicated(component);
+        if (components.putIfAbsent(component, provider) != null) throw ContextConfigException.duplicated(component);
         if (statics) staticsComponents.add(component);
-        components.put(component, provider);
     }
 
     public <Type> void scope(final Class<Type> scope, final ScopeProvider provider) {
         scopes.put(scope, provider);
     }
 
+    public void closeTimeout(Duration timeout) {
+        closeTimeout = Objects.requireNonNull(timeout);
+    }
 
-    public Context getContext() {
+    public void cacheSize(int maxSize) {
+        if (maxSize < 1) throw ContextConfigException.illegalCacheSize(maxSize);
+        caches.maxSize(maxSize);
+    }
+
+    public synchronized void trace(double rate, Consumer<ResolutionTrace> sink) {
+        if (!(rate > 0 && rate <= 1)) throw ContextConfigException.illegalSampleRate(rate);
+        traceRate = rate;
+        traceSink = Objects.requireNonNull(sink);
+    }
 
-        Context context = new Context() {
+    public synchronized void accountAllocations() {
+        if (allocations == null) allocations = Allocations.create();
+    }
 
-            @Override
-            public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef) {
-                if (componentRef.isContainer()) {
-                    if (componentRef.getContainer() != Provider.class) return Optional.empty();
-                    return (Optional<ComponentType>) Optional.ofNullable(components.get(componentRef.component()))
-                            .map(p -> (Provider<Object>) () -> p.get(this));
-                }
-                return Optional.ofNullable(components.get(componentRef.component())).map(p -> ((ComponentType) p.get(this)));
+    public synchronized void measureConstructions() {
+        if (times == null) times = new ConstructionTimes();
+    }
 
-            }
-        };
+    public Map<Component, Allocation> allocations() {
+        Allocations current = allocations;
+        return current == null ? Map.of() : current.report();
+    }
 
-        components.keySet().forEach(component -> checkDependencies(component, new Stack<>()));
-        injectStaticMembers(context);
-        return context;
+    public Map<Component, PoolMetrics> poolMetrics() {
+        Map<Component, PoolMetrics> metrics = new HashMap<>();
+        components.forEach((component, provider) -> {
+            if (provider instanceof PooledProvider<?> pool) metrics.put(component, pool.metrics());
+        });
+        return Map.copyOf(metrics);
     }
 
-    private void injectStaticMembers(Context context) {
-        for (final Component component : staticsComponents) {
-            Optional.ofNullable(components.get(component))
-                    .ifPresent(p -> p.statics(context));
+    public synchronized void intercept(Class<? extends Annotation> binding, Interceptor interceptor) {
+        InterceptedProvider.Interception interception = new InterceptedProvider.Interception(binding, interceptor);
+        interceptions.add(interception);
+        for (Implementation bound : implementations) {
+            if (!InterceptedProvider.isBound(bound.type(), bound.implementation(), binding)) continue;
+            interceptions.remove(interception);
+            throw ContextConfigException.interceptAfterBinding(binding, bound.implementation());
         }
     }
 
+
+    private Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            return new Snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void close(Snapshot closed) {
+        Snapshot current;
+        lock.writeLock().lock();
+        try {
+            if (closed.closes != closes) return;
+            closes++;
+            current = new Snapshot();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Throwable> errors = new ArrayList<>();
+        current.close(errors);
+        if (closed.generation != current.generation) closed.close(errors);
+        scopes.values().stream().distinct().forEach(ScopeProvider::close);
+        if (!errors.isEmpty()) throw ContextConfigException.closeFailed(errors);
+    }
+
+    private void validated(Snapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            if (snapshot.generation == generation) validated.addAll(snapshot.validated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Context getContext() {
+        Snapshot snapshot = snapshot();
+        snapshot.checkAll();
+        return snapshot.context(ref -> {
+        });
+    }
+
+    public Context getContext(ComponentRef<?>... roots) {
+        Snapshot snapshot = snapshot();
+        Consumer<ComponentRef<?>> check = snapshot::checkLazily;
+        stream(roots).forEach(check);
+        snapshot.staticsComponents.stream().map(component -> ComponentRef.of(component.type(), component.qualifier())).forEach(check);
+        return snapshot.context(check);
+    }
+
+    public DependencyGraph graph() {
+        Snapshot snapshot = snapshot();
+        snapshot.checkAll();
+        ConstructionTimes measured = times;
+        return new DependencyGraph(snapshot.dependencies(), scoped, measured == null ? component -> 0 : measured::nanos);
+    }
+
+    public CompletableFuture<Context> getContextAsync() {
+        ExecutorService executor = Threads.executor();
+        return getContextAsync(executor).whenComplete((context, failure) -> executor.shutdown());
+    }
+
+    public CompletableFuture<Context> getContextAsync(Executor executor) {
+        Snapshot snapshot = snapshot();
+        snapshot.checkAll();
+        Context context = snapshot.context(ref -> {
+        });
+        Map<Component, CompletableFuture<Void>> initializing = new HashMap<>();
+        snapshot.initialize(context, executor, initializing);
+        return CompletableFuture.allOf(initializing.values().toArray(CompletableFuture[]::new)).thenApply(v -> context);
+    }
+
     public void checkDependencies(Component component, Stack<Component> visiting) {
-        components.get(component).getDependencies().forEach(dependency -> checkDependency(component, visiting, dependency));
+        Snapshot snapshot = snapshot();
+        snapshot.checkDependencies(component, visiting, collecting(), snapshot.validated);
+    }
+
+    private static Set<Multibinding> collecting() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private record Check(Component component, Iterator<ComponentRef<?>> dependencies, boolean visiting, Multibinding multibinding) {
+    }
+
+    private static boolean isMultibinding(ComponentRef<?> dependency) {
+        return dependency.isContainer() && dependency.getContainer() != Provider.class;
     }
 
-    private void checkDependency(Component component, Stack<Component> visiting, ComponentRef dependency) {
-        if (!components.containsKey(dependency.component()))
-            throw unsatisfiedResolution(component, dependency.component());
-        if (!dependency.isContainer()) {
-            if (visiting.contains(dependency.component()))
+    private class Snapshot {
+        private final ComponentRegistry<ComponentProvider<?>> components = ComponentRegistry.of(ContextConfig.this.components);
+        private final Set<Component> asynchronous = ContextConfig.this.asynchronous.stream().filter(components::containsKey).collect(Collectors.toUnmodifiableSet());
+        private final Map<Component, Multibinding> multibindings = Map.copyOf(ContextConfig.this.multibindings);
+        private final List<Component> staticsComponents = List.copyOf(ContextConfig.this.staticsComponents);
+        private final Set<Component> validated = ConcurrentHashMap.newKeySet();
+        private final Set<Component> collected = ConcurrentHashMap.newKeySet();
+        private final long generation = ContextConfig.this.generation;
+        private final long closes = ContextConfig.this.closes;
+
+        private final Duration closeTimeout = ContextConfig.this.closeTimeout;
+        private final Tracer tracer = tracer();
+        private final Allocations accounting = allocations;
+        private final ConstructionTimes timing = times;
+        private final ResolutionScope resolution = Stream.concat(scoped.values().stream(), contributedScopes.values().stream().flatMap(List::stream))
+                .anyMatch(ResolutionScoped.class::isInstance)
+                && scopes.get(ResolutionScoped.class) == resolutions ? resolutions : null;
+        private final boolean observed = tracer != null || accounting != null || timing != null || resolution != null;
+
+        private Tracer tracer() {
+            synchronized (ContextConfig.this) {
+                return traceSink == null ? null : new Tracer(traceRate, traceSink, Map.copyOf(scoped));
+            }
+        }
+
+        Snapshot() {
+            validated.addAll(ContextConfig.this.validated);
+        }
+
+        void checkAll() {
+            components.keySet().forEach(component -> checkDependencies(component, new Stack<>(), collecting(), validated));
+            validated(this);
+        }
+
+        Map<Component, List<ComponentRef<?>>> dependencies() {
+            Map<Component, List<ComponentRef<?>>> dependencies = new HashMap<>();
+            components.forEach((component, provider) -> dependencies.put(component, provider.getDependencies()));
+            multibindings.forEach((component, multibinding) -> dependencies.merge(component, multibinding.getDependencies(),
+                    (bound, contributed) -> Stream.concat(bound.stream(), contributed.stream()).toList()));
+            return dependencies;
+        }
+
+        private void ensureOpen() {
+            if (closes != ContextConfig.this.closes) throw ContextConfigException.closedContext();
+        }
+
+        void close(List<Throwable> errors) {
+            Map<Component, List<ComponentRef<?>>> refs = dependencies();
+            Map<Component, Set<Component>> dependencies = new HashMap<>();
+            Map<Component, Set<Component>> dependents = new HashMap<>();
+            refs.keySet().forEach(component -> dependencies.put(component, new HashSet<>()));
+            refs.forEach((component, required) -> required.stream().map(ComponentRef::component)
+                    .filter(dependency -> dependencies.containsKey(dependency) && !dependency.equals(component)).forEach(dependency -> {
+                        dependencies.get(component).add(dependency);
+                        dependents.computeIfAbsent(dependency, c -> new HashSet<>()).add(component);
+                    }));
+            Map<Component, Integer> waiting = new HashMap<>();
+            dependencies.keySet().forEach(component -> waiting.put(component, dependents.getOrDefault(component, Set.of()).size()));
+
+            List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+            Map<Component, CompletableFuture<Void>> closing = new HashMap<>();
+            ExecutorService executor = Threads.executor();
+            try {
+                Deque<Component> ready = waiting.entrySet().stream().filter(e -> e.getValue() == 0).map(Map.Entry::getKey).collect(Collectors.toCollection(ArrayDeque::new));
+                while (!closing.keySet().containsAll(dependencies.keySet())) {
+                    if (ready.isEmpty())
+                        dependencies.keySet().stream().filter(c -> !closing.containsKey(c)).forEach(ready::add);
+                    while (!ready.isEmpty()) {
+                        Component component = ready.poll();
+                        if (closing.containsKey(component)) continue;
+                        CompletableFuture<?>[] after = dependents.getOrDefault(component, Set.of()).stream()
+                                .map(closing::get).filter(Objects::nonNull).toArray(CompletableFuture[]::new);
+                        closing.put(component, CompletableFuture.allOf(after).thenCompose(v -> close(component, executor, failures)));
+                        for (Component dependency : dependencies.get(component))
+                            if (waiting.merge(dependency, -1, Integer::sum) == 0) ready.add(dependency);
+                    }
+                }
+                CompletableFuture.allOf(closing.values().toArray(CompletableFuture[]::new)).join();
+            } finally {
+                executor.shutdown();
+            }
+            errors.addAll(failures);
+        }
+
+        private CompletableFuture<Void> close(Component component, Executor executor, List<Throwable> errors) {
+            return CompletableFuture.runAsync(() -> {
+                List<Object> instances = new ArrayList<>();
+                Optional.ofNullable(components.get(component)).ifPresent(p -> instances.addAll(p.dispose()));
+                Optional.ofNullable(multibindings.get(component)).ifPresent(m -> instances.addAll(m.dispose()));
+                for (Object instance : instances) {
+                    try {
+                        Destroyer.destroy(InterceptedProvider.target(instance));
+                    } catch (Exception e) {
+                        errors.add(e);
+                    }
+                }
+            }, executor).orTimeout(closeTimeout.toNanos(), TimeUnit.NANOSECONDS).exceptionally(e -> {
+                errors.add(e instanceof TimeoutException ? ContextConfigException.closeTimedOut(component) : e);
+                return null;
+            });
+        }
+
+        private void initialize(Context context, Executor executor, Map<Component, CompletableFuture<Void>> initializing) {
+            Map<Component, Set<Component>> dependencies = new HashMap<>();
+            Deque<Component> pending = new ArrayDeque<>(asynchronous);
+            while (!pending.isEmpty()) {
+                Component current = pending.peek();
+                if (initializing.containsKey(current)) {
+                    pending.pop();
+                    continue;
+                }
+                Set<Component> required = dependencies.computeIfAbsent(current, this::asynchronousDependencies);
+                List<Component> unknown = required.stream().filter(d -> !initializing.containsKey(d)).toList();
+                if (!unknown.isEmpty()) {
+                    unknown.forEach(pending::push);
+                    continue;
+                }
+                CompletableFuture<?>[] after = required.stream().map(initializing::get).toArray(CompletableFuture[]::new);
+                initializing.put(pending.pop(), CompletableFuture.allOf(after)
+                        .thenRunAsync(() -> context.get(ComponentRef.of(current.type(), current.qualifier())), executor));
+            }
+        }
+
+        private Set<Component> asynchronousDependencies(Component component) {
+            Set<Component> result = new LinkedHashSet<>();
+            Set<Component> visited = new HashSet<>();
+            Deque<Iterator<ComponentRef<?>>> pending = new ArrayDeque<>();
+            pending.push(components.get(component).getConstructionDependencies().iterator());
+            while (!pending.isEmpty()) {
+                Iterator<ComponentRef<?>> dependencies = pending.peek();
+                if (!dependencies.hasNext()) {
+                    pending.pop();
+                    continue;
+                }
+                ComponentRef<?> dependency = dependencies.next();
+                if (dependency.isContainer() || !visited.add(dependency.component())) continue;
+                if (asynchronous.contains(dependency.component())) result.add(dependency.component());
+                else pending.push(components.get(dependency.component()).getConstructionDependencies().iterator());
+            }
+            return result;
+        }
+
+        private Context context(Consumer<ComponentRef<?>> check) {
+            Context context = new Context() {
+                private final ThreadLocal<Map<Component, Deque<Object>>> prepared = new ThreadLocal<>();
+                private final Map<Class<?>, InjectionProvider<?>> members = new ConcurrentHashMap<>();
+                private final Map<Class<?>, Map<Annotation, Provider<?>>> qualified = qualified();
+
+                private Map<Class<?>, Map<Annotation, Provider<?>>> qualified() {
+                    Map<Class<?>, Map<Annotation, Provider<?>>> qualified = new HashMap<>();
+                    components.forEach((component, provider) -> {
+                        if (component.qualifier() == null) return;
+                        ComponentRef<?> ref = ComponentRef.of(component.type(), component.qualifier());
+                        qualified.computeIfAbsent(component.type(), type -> new HashMap<>()).put(component.qualifier(), () -> get(ref).get());
+                    });
+                    qualified.replaceAll((type, providers) -> Map.copyOf(providers));
+                    return Map.copyOf(qualified);
+                }
+
+                @Override
+                public <ComponentType> Map<Annotation, Provider<ComponentType>> getAllQualified(Class<ComponentType> type) {
+                    return (Map<Annotation, Provider<ComponentType>>) (Map<?, ?>) qualified.getOrDefault(type, Map.of());
+                }
+
+                @Override
+                public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef) {
+                    ensureOpen();
+                    if (!observed) return resolve(componentRef);
+                    boolean outermost = resolution != null && resolution.enter();
+                    Tracer.Span span = tracer == null ? null : tracer.enter(componentRef.component());
+                    boolean timed = timing != null && (!componentRef.isContainer() || isMultibinding(componentRef));
+                    if (accounting != null) accounting.enter();
+                    if (timed) timing.enter();
+                    try {
+                        return resolve(componentRef);
+                    } finally {
+                        if (timed) timing.exit(componentRef.component());
+                        if (accounting != null) accounting.exit(componentRef.component(), true);
+                        if (tracer != null) tracer.exit(span);
+                        if (outermost) resolution.exit();
+                    }
+                }
+
+                @Override
+                public Object[] getAll(ComponentRef<?>... componentRefs) {
+                    ensureOpen();
+                    Object[] instances = new Object[componentRefs.length];
+                    for (int i = 0; i < componentRefs.length; i++) {
+                        ComponentRef<?> ref = componentRefs[i];
+                        if (ref.isContainer() || observed) {
+                            instances[i] = get(ref).orElse(null);
+                            continue;
+                        }
+                        check.accept(ref);
+                        ComponentProvider<?> provider = components.get(ref);
+                        instances[i] = provider == null ? null : construct(ref.component(), provider);
+                    }
+                    return instances;
+                }
+
+                @Override
+                public Batch batch(ComponentRef<?>... componentRefs) {
+                    ensureOpen();
+                    if (observed) return Context.super.batch(componentRefs);
+                    Component[] batched = new Component[componentRefs.length];
+                    ComponentProvider<?>[] providers = new ComponentProvider<?>[componentRefs.length];
+                    Object[] containers = new Object[componentRefs.length];
+                    for (int i = 0; i < componentRefs.length; i++) {
+                        ComponentRef<?> ref = componentRefs[i];
+                        check.accept(ref);
+                        if (ref.isContainer()) {
+                            if (ref.getContainer() == Provider.class) containers[i] = get(ref).orElse(null);
+                            else if (multibindings.containsKey(ref.component()) && multibindings.get(ref.component()).supports(ref)) containers[i] = ref;
+                            if (containers[i] == null) throw ContextConfigException.unknownComponent(ref.component().toString());
+                            continue;
+                        }
+                        int slot = components.slot(ref);
+                        if (slot == ComponentRegistry.ABSENT) throw ContextConfigException.unknownComponent(ref.component().toString());
+                        batched[i] = ref.component();
+                        providers[i] = components.value(slot);
+                    }
+                    return () -> {
+                        ensureOpen();
+                        Object[] instances = new Object[providers.length];
+                        for (int i = 0; i < providers.length; i++) {
+                            if (providers[i] != null) instances[i] = construct(batched[i], providers[i]);
+                            else if (containers[i] instanceof ComponentRef<?> ref) instances[i] = get(ref).orElse(null);
+                            else instances[i] = containers[i];
+                        }
+                        return instances;
+                    };
+                }
+
+                private <ComponentType> Optional<ComponentType> resolve(ComponentRef<ComponentType> componentRef) {
+                    check.accept(componentRef);
+                    if (componentRef.isContainer()) {
+                        if (componentRef.getContainer() != Provider.class)
+                            return (Optional<ComponentType>) Optional.ofNullable(multibindings.get(componentRef.component()))
+                                    .filter(m -> m.supports(componentRef))
+                                    .map(m -> m.get(componentRef.getContainer(), this));
+                        return (Optional<ComponentType>) Optional.ofNullable(components.get(componentRef))
+                                .map(p -> (Provider<Object>) () -> construct(componentRef.component(), p));
+                    }
+                    return Optional.ofNullable(components.get(componentRef)).map(p -> ((ComponentType) construct(componentRef.component(), p)));
+                }
+
+                private Object construct(Component component, ComponentProvider<?> provider) {
+                    Map<Component, Deque<Object>> prepared = this.prepared.get();
+                    Deque<Object> instances = prepared == null ? null : prepared.get(component);
+                    if (instances != null && !instances.isEmpty()) {
+                        if (tracer != null) tracer.adopt(component);
+                        return instances.poll();
+                    }
+                    if (!provider.constructs()) return provider.get(this);
+                    if (prepared != null) return prepare(component, provider, prepared);
+                    prepared = new HashMap<>();
+                    this.prepared.set(prepared);
+                    try {
+                        return prepare(component, provider, prepared);
+                    } finally {
+                        this.prepared.remove();
+                    }
+                }
+
+                private Object prepare(Component component, ComponentProvider<?> provider, Map<Component, Deque<Object>> prepared) {
+                    record Construction(Component component, ComponentProvider<?> provider, Iterator<ComponentRef<?>> dependencies) {
+                    }
+                    Deque<Construction> pending = new ArrayDeque<>();
+                    pending.push(new Construction(component, provider, provider.getConstructionDependencies().iterator()));
+                    while (pending.size() > 1 || pending.peek().dependencies().hasNext()) {
+                        Construction current = pending.peek();
+                        if (current.dependencies().hasNext()) {
+                            ComponentRef<?> dependency = current.dependencies().next();
+                            ComponentProvider<?> dependencyProvider = components.get(dependency);
+                            if (!dependency.isContainer() && dependencyProvider != null && dependencyProvider.constructs())
+                                pending.push(new Construction(dependency.component(), dependencyProvider, dependencyProvider.getConstructionDependencies().iterator()));
+                            continue;
+                        }
+                        pending.pop();
+                        Tracer.Span span = tracer == null ? null : tracer.enterNested(current.component());
+                        if (accounting != null) accounting.enter();
+                        if (timing != null) timing.enter();
+                        try {
+                            prepared.computeIfAbsent(current.component(), c -> new ArrayDeque<>()).add(current.provider().get(this));
+                        } finally {
+                            if (timing != null) timing.exit(current.component());
+                            if (accounting != null) accounting.exit(current.component(), false);
+                        }
+                        if (span != null) tracer.detach(span);
+                    }
+                    return provider.get(this);
+                }
+
+                @Override
+                public <Instance> Instance injectMembers(Instance instance) {
+                    InjectionProvider<Instance> plan = (InjectionProvider<Instance>) members.get(instance.getClass());
+                    if (plan == null)
+                        plan = (InjectionProvider<Instance>) members.computeIfAbsent(instance.getClass(), type -> members(type, check));
+                    plan.injectMembers(this, instance);
+                    return instance;
+                }
+
+                @Override
+                public void close() {
+                    ContextConfig.this.close(Snapshot.this);
+                }
+
+                @Override
+                public <ComponentType> void release(ComponentRef<ComponentType> componentRef, ComponentType instance) {
+                    Optional.ofNullable((ComponentProvider<ComponentType>) components.get(componentRef))
+                            .ifPresent(p -> p.release(instance));
+                }
+            };
+
+            injectStaticMembers(context);
+            return context;
+        }
+
+        private InjectionProvider<?> members(Class<?> type, Consumer<ComponentRef<?>> check) {
+            InjectionProvider<?> plan = InjectionProvider.members(type);
+            Component component = new Component(type, null);
+            for (ComponentRef<?> dependency : plan.getDependencies()) {
+                boolean satisfied = isMultibinding(dependency)
+                        ? multibindings.containsKey(dependency.component()) && multibindings.get(dependency.component()).supports(dependency)
+                        : components.containsKey(dependency.component());
+                if (!satisfied) throw unsatisfiedResolution(component, dependency.component());
+                check.accept(dependency);
+            }
+            return plan;
+        }
+
+        private void injectStaticMembers(Context context) {
+            for (final Component component : staticsComponents) {
+                Optional.ofNullable(components.get(component))
+                        .ifPresent(p -> p.statics(context));
+            }
+        }
+
+        private void checkLazily(ComponentRef<?> ref) {
+            Component component = ref.component();
+            if (!isMultibinding(ref)) {
+                if (!validated.contains(component) && components.containsKey(component))
+                    checkDependencies(component, new Stack<>(), collecting(), validated);
+                return;
+            }
+            if (collected.contains(component)) return;
+            Multibinding multibinding = multibindings.get(component);
+            if (multibinding == null || !multibinding.supports(ref)) return;
+            Set<Multibinding> collecting = collecting();
+            collecting.add(multibinding);
+            checkDependencies(new Check(component, multibinding.getDependencies().iterator(), false, multibinding), new Stack<>(), collecting, validated);
+            collected.add(component);
+        }
+
+        private void checkDependencies(Component component, Stack<Component> visiting, Set<Multibinding> collecting, Set<Component> checked) {
+            if (checked.contains(component)) return;
+            checkDependencies(new Check(component, components.get(component).getDependencies().iterator(), false, null), visiting, collecting, checked);
+        }
+
+        private void checkDependencies(Check root, Stack<Component> visiting, Set<Multibinding> collecting, Set<Component> checked) {
+            Set<Component> path = new HashSet<>(visiting);
+            Deque<Check> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Check current = pending.peek();
+                if (current.dependencies().hasNext()) {
+                    Check next = checkDependency(current.component(), visiting, path, collecting, current.dependencies().next(), checked);
+                    if (next != null) pending.push(next);
+                    continue;
+                }
+                pending.pop();
+                if (current.multibinding() != null) collecting.remove(current.multibinding());
+                else checked.add(current.component());
+                if (current.visiting()) path.remove(visiting.pop());
+            }
+        }
+
+        private Check checkDependency(Component component, Stack<Component> visiting, Set<Component> path, Set<Multibinding> collecting, ComponentRef<?> dependency, Set<Component> checked) {
+            if (isMultibinding(dependency)) return checkMultibinding(component, visiting, collecting, dependency);
+            if (!components.containsKey(dependency.component()))
+                throw unsatisfiedResolution(component, dependency.component());
+            if (dependency.isContainer() || checked.contains(dependency.component())) return null;
+            if (path.contains(dependency.component()))
+                throw circularDependencies(visiting, dependency.component());
+            path.add(visiting.push(dependency.component()));
+            return new Check(dependency.component(), components.get(dependency.component()).getDependencies().iterator(), true, null);
+        }
+
+        private Check checkMultibinding(Component component, Stack<Component> visiting, Set<Multibinding> collecting, ComponentRef<?> dependency) {
+            Multibinding multibinding = multibindings.get(dependency.component());
+            if (multibinding == null || !multibinding.supports(dependency))
+                throw unsatisfiedResolution(component, dependency.component());
+            if (collecting.contains(multibinding))
                 throw circularDependencies(visiting, dependency.component());
-            visiting.push(dependency.component());
-            checkDependencies(dependency.component(), visiting);
-            visiting.pop();
+            collecting.add(multibinding);
+            return new Check(dependency.component(), multibinding.getDependencies().iterator(), false, multibinding);
         }
     }
 
     interface ScopeProvider {
         ComponentProvider<?> create(ComponentProvider<?> provider);
+
+        default ComponentProvider<?> create(Class<?> implementation, Annotation scope, ComponentProvider<?> provider) {
+            return create(provider);
+        }
+
+        default void close() {
+        }
     }
 
     static class ContextConfigError extends Error {
@@ -194,10 +928,72 @@ public class ContextConfig {
             return new ContextConfigException(MessageFormat.format("Unknown scope: {0}", annotationType));
         }
 
+        static ContextConfigException unknownComponent(String name) {
+            return new ContextConfigException(MessageFormat.format("Unknown component: {0}", name));
+        }
+
+        static ContextConfigException lazyNonInterface(Class<?> type) {
+            return new ContextConfigException(MessageFormat.format("Lazy initialization requires an interface: {0}", type));
+        }
+
+        static ContextConfigException unscopedAsync(Class<?> type) {
+            return new ContextConfigException(MessageFormat.format("Asynchronous initialization requires a scope: {0}", type));
+        }
+
+        static ContextConfigException duplicatedKey(Component component, Object key) {
+            return new ContextConfigException(MessageFormat.format("Duplicated key: {1} of {0}", component, key));
+        }
+
+        static ContextConfigException closeTimedOut(Component component) {
+            return new ContextConfigException(MessageFormat.format("Close timed out: {0}", component));
+        }
+
+        static ContextConfigException closeFailed(List<Throwable> errors) {
+            ContextConfigException exception = new ContextConfigException(MessageFormat.format("Close failed: {0}",
+                    String.join(" , ", errors.stream().map(Throwable::getMessage).map(String::valueOf).toList())));
+            errors.forEach(exception::addSuppressed);
+            return exception;
+        }
+
+        static ContextConfigException closedContext() {
+            return new ContextConfigException("Context closed");
+        }
+
+        static ContextConfigException allocationsUnsupported() {
+            return new ContextConfigException("Thread allocation accounting is not supported by this JVM");
+        }
+
+        static ContextConfigException illegalCacheSize(int maxSize) {
+            return new ContextConfigException(MessageFormat.format("Cache size must be positive: {0}", maxSize));
+        }
+
+        static ContextConfigException illegalSampleRate(double rate) {
+            return new ContextConfigException(MessageFormat.format("Sample rate must be in (0, 1]: {0}", rate));
+        }
+
+        static ContextConfigException interceptNonInterface(Class<?> type) {
+            return new ContextConfigException(MessageFormat.format("Interception requires an interface: {0}", type));
+        }
+
+        static ContextConfigException interceptAfterBinding(Class<? extends Annotation> binding, Class<?> implementation) {
+            return new ContextConfigException(MessageFormat.format("Interceptor registered after binding: {0} of {1}", binding, implementation));
+        }
+
+        static ContextConfigException illegalFactory(Class<?> factory, Class<?> implementation) {
+            return new ContextConfigException(MessageFormat.format("Unmatched assisted factory: {0} for {1}", factory, implementation));
+        }
+
         static ContextConfigException duplicated(Component component) {
             return new ContextConfigException(MessageFormat.format("Duplicated: {0}", component));
         }
 
+        static ContextConfigException invalidBindings(List<Throwable> errors) {
+            ContextConfigException exception = new ContextConfigException(MessageFormat.format("Invalid bindings: {0}",
+                    String.join(" , ", errors.stream().map(Throwable::getMessage).toList())));
+            errors.forEach(exception::addSuppressed);
+            return exception;
+        }
+
         ContextConfigException(String message) {
             super(message);
         }
@@ -211,8 +1007,56 @@ public class ContextConfig {
         }
 
         public void bind() {
+            List<Component> bound = new ArrayList<>();
             for (Declaration declaration : declarations()) {
-                declaration.value().ifPresentOrElse(declaration::bindInstance, declaration::bindComponent);
+                bound.addAll(declaration.value().map(declaration::bindInstance).orElseGet(declaration::bindComponent));
+            }
+            if (isValidated(bound)) validated.addAll(bound);
+        }
+
+        private boolean isValidated(List<Component> bound) {
+            ClassLoader loader = config.getClass().getClassLoader();
+            InputStream marker = loader == null ? null : loader.getResourceAsStream(DependencyGraphProcessor.VALIDATED + config.getClass().getName());
+            if (marker == null) return false;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(marker, StandardCharsets.UTF_8))) {
+                return reader.lines().filter(line -> !line.isBlank()).collect(Collectors.toSet()).equals(graph(bound));
+            } catch (IOException | UncheckedIOException e) {
+                return false;
+            }
+        }
+
+        private Set<String> graph(List<Component> bound) {
+            Set<String> graph = new HashSet<>();
+            for (Component component : bound) {
+                String node = node(component);
+                graph.add(node);
+                for (ComponentRef<?> dependency : components.get(component).getDependencies())
+                    graph.add(node + " -> " + (dependency.isContainer() ? ((Class<?>) dependency.getContainer()).getCanonicalName() + " " : "") + node(dependency.component()));
+            }
+            return graph;
+        }
+
+        private String node(Component component) {
+            Annotation qualifier = component.qualifier();
+            return MessageFormat.format("Component[type={0}, qualifier={1}]", component.type().getCanonicalName(), qualifier == null ? null : qualifier(qualifier));
+        }
+
+        private String qualifier(Annotation qualifier) {
+            Class<? extends Annotation> type = qualifier.annotationType();
+            return type.getCanonicalName() + stream(type.getDeclaredMethods()).filter(m -> !m.isSynthetic() && !Modifier.isStatic(m.getModifiers()))
+                    .map(m -> m.getName() + "=" + value(m, qualifier)).sorted().collect(joining(", ", "(", ")"));
+        }
+
+        private String value(Method element, Annotation qualifier) {
+            try {
+                element.setAccessible(true);
+                Object value = element.invoke(qualifier);
+                if (value instanceof String string) return '"' + string.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+                if (value instanceof Class<?> type) return type.getCanonicalName() + ".class";
+                if (value instanceof Enum<?> constant) return constant.name();
+                return String.valueOf(value);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return "?";
             }
         }
 
@@ -227,12 +1071,12 @@ public class ContextConfig {
                 this.field = field;
             }
 
-            void bindInstance(Object instance) {
-                ContextConfig.this.bindInstance(type(), instance, annotations(), statics());
+            List<Component> bindInstance(Object instance) {
+                return ContextConfig.this.bindInstance(type(), instance, annotations(), statics());
             }
 
-            void bindComponent() {
-                ContextConfig.this.bindComponent(type(), field.getType(), annotations(), statics());
+            List<Component> bindComponent() {
+                return ContextConfig.this.bindComponent(type(), field.getType(), annotations(), statics());
             }
 
             private Optional<Object> value() {
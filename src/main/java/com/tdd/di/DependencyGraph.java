@@ -0,0 +1,178 @@
+package com.tdd.di;
+
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
+
+public class DependencyGraph {
+    private final List<Node> nodes;
+    private final List<Edge> edges;
+    private final List<Component> criticalPath;
+    private final long criticalPathNanos;
+
+    DependencyGraph(Map<Component, List<ComponentRef<?>>> dependencies, Map<Component, Annotation> scopes, ToLongFunction<Component> nanos) {
+        List<Component> components = dependencies.keySet().stream()
+                .sorted(comparing((Component c) -> c.type().getName()).thenComparing(c -> String.valueOf(c.qualifier()))).toList();
+        edges = components.stream().flatMap(c -> dependencies.get(c).stream().filter(d -> dependencies.containsKey(d.component()))
+                .map(d -> new Edge(c, d.component(), container(d)))).distinct().toList();
+
+        Map<Component, Set<Component>> fanOut = new HashMap<>();
+        Map<Component, Set<Component>> fanIn = new HashMap<>();
+        Map<Component, List<Component>> eager = new HashMap<>();
+        for (Edge edge : edges) {
+            fanOut.computeIfAbsent(edge.from(), c -> new LinkedHashSet<>()).add(edge.to());
+            fanIn.computeIfAbsent(edge.to(), c -> new LinkedHashSet<>()).add(edge.from());
+            if (edge.isEager()) eager.computeIfAbsent(edge.from(), c -> new ArrayList<>()).add(edge.to());
+        }
+
+        Map<Component, Cost> costs = new HashMap<>();
+        components.forEach(c -> cost(c, eager, nanos, costs));
+        nodes = components.stream().map(c -> new Node(c, Optional.ofNullable(scopes.get(c)).map(Annotation::annotationType).orElse(null),
+                nanos.applyAsLong(c), fanIn.getOrDefault(c, Set.of()).size(), fanOut.getOrDefault(c, Set.of()).size(), costs.get(c).depth())).toList();
+
+        List<Component> path = new ArrayList<>();
+        Optional<Component> current = components.stream().max(comparing((Component c) -> costs.get(c).nanos()));
+        criticalPathNanos = current.map(c -> costs.get(c).nanos()).orElse(0L);
+        while (current.isPresent()) {
+            path.add(current.get());
+            current = eager.getOrDefault(current.get(), List.of()).stream().max(comparing((Component c) -> costs.get(c).nanos()));
+        }
+        criticalPath = List.copyOf(path);
+    }
+
+    private record Cost(long nanos, int depth) {
+    }
+
+    private static void cost(Component component, Map<Component, List<Component>> eager, ToLongFunction<Component> nanos, Map<Component, Cost> costs) {
+        Deque<Component> pending = new ArrayDeque<>(List.of(component));
+        while (!pending.isEmpty()) {
+            Component current = pending.peek();
+            if (costs.containsKey(current)) {
+                pending.pop();
+                continue;
+            }
+            List<Component> dependencies = eager.getOrDefault(current, List.of());
+            List<Component> unknown = dependencies.stream().filter(d -> !costs.containsKey(d)).toList();
+            if (!unknown.isEmpty()) {
+                unknown.forEach(pending::push);
+                continue;
+            }
+            long longest = dependencies.stream().mapToLong(d -> costs.get(d).nanos()).max().orElse(0);
+            int depth = dependencies.stream().mapToInt(d -> costs.get(d).depth() + 1).max().orElse(0);
+            costs.put(pending.pop(), new Cost(nanos.applyAsLong(current) + longest, depth));
+        }
+    }
+
+    private static Class<?> container(ComponentRef<?> dependency) {
+        Type container = dependency.getContainer();
+        return container instanceof Class<?> type ? type : null;
+    }
+
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    public List<Edge> edges() {
+        return edges;
+    }
+
+    public List<Component> criticalPath() {
+        return criticalPath;
+    }
+
+    public long criticalPathNanos() {
+        return criticalPathNanos;
+    }
+
+    public String toDot() {
+        Map<Component, Integer> ids = ids();
+        Set<Edge> critical = criticalEdges();
+        StringBuilder dot = new StringBuilder("digraph components {\n");
+        for (Node node : nodes) {
+            dot.append("  n").append(ids.get(node.component())).append(" [label=\"").append(dot(node.component().type().getName()));
+            if (node.component().qualifier() != null) dot.append("\\n").append(dot(node.component().qualifier().toString()));
+            if (node.scope() != null) dot.append("\\n@").append(dot(node.scope().getSimpleName()));
+            dot.append("\\n").append(String.format(Locale.ROOT, "%.3f ms", node.nanos() / 1e6)).append("\"");
+            if (criticalPath.contains(node.component())) dot.append(", color=red");
+            dot.append("];\n");
+        }
+        for (Edge edge : edges) {
+            dot.append("  n").append(ids.get(edge.from())).append(" -> n").append(ids.get(edge.to()));
+            List<String> attributes = new ArrayList<>();
+            if (edge.container() != null) attributes.add("label=\"" + edge.container().getSimpleName() + "\"");
+            if (!edge.isEager()) attributes.add("style=dashed");
+            if (critical.contains(edge)) attributes.add("color=red");
+            if (!attributes.isEmpty()) dot.append(attributes.stream().collect(joining(", ", " [", "]")));
+            dot.append(";\n");
+        }
+        return dot.append("}\n").toString();
+    }
+
+    public String toJson() {
+        Map<Component, Integer> ids = ids();
+        String nodes = this.nodes.stream().map(node -> "{\"id\":" + ids.get(node.component())
+                + ",\"type\":" + json(node.component().type().getName())
+                + ",\"qualifier\":" + json(node.component().qualifier() == null ? null : node.component().qualifier().toString())
+                + ",\"scope\":" + json(node.scope() == null ? null : node.scope().getName())
+                + ",\"nanos\":" + node.nanos() + ",\"fanIn\":" + node.fanIn() + ",\"fanOut\":" + node.fanOut() + ",\"depth\":" + node.depth() + "}")
+                .collect(joining(",", "[", "]"));
+        String edges = this.edges.stream().map(edge -> "{\"from\":" + ids.get(edge.from()) + ",\"to\":" + ids.get(edge.to())
+                + ",\"container\":" + json(edge.container() == null ? null : edge.container().getName()) + "}")
+                .collect(joining(",", "[", "]"));
+        String path = criticalPath.stream().map(c -> String.valueOf(ids.get(c))).collect(joining(",", "[", "]"));
+        return "{\"nodes\":" + nodes + ",\"edges\":" + edges + ",\"criticalPath\":" + path + ",\"criticalPathNanos\":" + criticalPathNanos + "}";
+    }
+
+    private Map<Component, Integer> ids() {
+        Map<Component, Integer> ids = new HashMap<>();
+        for (Node node : nodes) ids.put(node.component(), ids.size());
+        return ids;
+    }
+
+    private Set<Edge> criticalEdges() {
+        Set<Edge> critical = new HashSet<>();
+        for (int i = 1; i < criticalPath.size(); i++) {
+            Component from = criticalPath.get(i - 1), to = criticalPath.get(i);
+            edges.stream().filter(e -> e.from().equals(from) && e.to().equals(to) && e.isEager()).forEach(critical::add);
+        }
+        return critical;
+    }
+
+    private static String dot(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String json(String value) {
+        if (value == null) return "null";
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+                }
+            }
+        }
+        return json.append("\"").toString();
+    }
+
+    public record Node(Component component, Class<? extends Annotation> scope, long nanos, int fanIn, int fanOut, int depth) {
+    }
+
+    public record Edge(Component from, Component to, Class<?> container) {
+        public boolean isEager() {
+            return container != Provider.class;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.tdd.di;
+
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.Trees;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+
+@SupportedAnnotationTypes("*")
+public class DependencyGraphProcessor extends AbstractProcessor {
+    static final String VALIDATED = "META-INF/com.tdd.di/validated/";
+
+    private static final String INJECT = "jakarta.inject.Inject";
+    private static final String QUALIFIER = "jakarta.inject.Qualifier";
+    private static final String PROVIDER = "jakarta.inject.Provider";
+
+    private Trees trees;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        try {
+            trees = Trees.instance(processingEnv);
+        } catch (IllegalArgumentException e) {
+            trees = null;
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        TypeElement config = processingEnv.getElementUtils().getTypeElement(Config.class.getCanonicalName());
+        if (config == null || trees == null) return false;
+        for (TypeElement type : ElementFilter.typesIn(round.getRootElements()))
+            configs(type, config.asType()).forEach(this::validate);
+        return false;
+    }
+
+    private Stream<TypeElement> configs(TypeElement type, TypeMirror config) {
+        Stream<TypeElement> nested = ElementFilter.typesIn(type.getEnclosedElements()).stream().flatMap(t -> configs(t, config));
+        boolean concrete = type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT);
+        if (concrete && processingEnv.getTypeUtils().isAssignable(type.asType(), config))
+            return Stream.concat(Stream.of(type), nested);
+        return nested;
+    }
+
+    private void validate(TypeElement config) {
+        Graph graph = new Graph();
+        for (VariableElement field : ElementFilter.fieldsIn(config.getEnclosedElements())) {
+            if (!graph.declare(field)) return;
+        }
+        List<String> errors = graph.check();
+        errors.forEach(error -> processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, config));
+        if (errors.isEmpty()) mark(config, graph);
+    }
+
+    private void mark(TypeElement config, Graph graph) {
+        String name = processingEnv.getElementUtils().getBinaryName(config).toString();
+        try {
+            FileObject marker = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", VALIDATED + name, config);
+            try (Writer writer = marker.openWriter()) {
+                writer.write(String.join("\n", graph.describe()));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, MessageFormat.format("Can not mark {0} as validated: {1}", name, e.getMessage()), config);
+        }
+    }
+
+    record Node(String type, String qualifier) {
+        @Override
+        public String toString() {
+            return MessageFormat.format("Component[type={0}, qualifier={1}]", type, qualifier);
+        }
+    }
+
+    record Edge(Node node, boolean container) {
+        @Override
+        public String toString() {
+            return container ? PROVIDER + " " + node : node.toString();
+        }
+    }
+
+    private class Graph {
+        private final Map<Node, List<Edge>> nodes = new LinkedHashMap<>();
+
+        boolean declare(VariableElement field) {
+            TypeMirror exported = exportType(field).orElse(field.asType());
+            if (!(exported.getKind() == TypeKind.DECLARED && field.asType().getKind() == TypeKind.DECLARED)) return false;
+            Optional<List<Edge>> dependencies = hasInitializer(field) ? Optional.of(List.of()) : dependencies((TypeElement) ((DeclaredType) field.asType()).asElement());
+            if (dependencies.isEmpty()) return false;
+            List<String> qualifiers = qualifiers(field).toList();
+            String type = erasure(exported);
+            if (qualifiers.isEmpty()) nodes.put(new Node(type, null), dependencies.get());
+            for (String qualifier : qualifiers) nodes.put(new Node(type, qualifier), dependencies.get());
+            return true;
+        }
+
+        List<String> describe() {
+            List<String> lines = new ArrayList<>();
+            nodes.forEach((node, edges) -> {
+                lines.add(node.toString());
+                edges.forEach(edge -> lines.add(node + " -> " + edge));
+            });
+            return lines.stream().distinct().sorted().toList();
+        }
+
+        List<String> check() {
+            List<String> errors = new ArrayList<>();
+            nodes.forEach((node, edges) -> edges.stream().filter(e -> !nodes.containsKey(e.node()))
+                    .forEach(e -> errors.add(MessageFormat.format("Unsatisfied resolution: {1} for {0} ", node, e.node()))));
+            if (!errors.isEmpty()) return errors;
+            Set<Node> visited = new HashSet<>();
+            for (Node node : nodes.keySet()) {
+                Optional<String> circular = circular(node, new ArrayDeque<>(), visited);
+                if (circular.isPresent()) return List.of(circular.get());
+            }
+            return errors;
+        }
+
+        private Optional<String> circular(Node node, Deque<Node> visiting, Set<Node> visited) {
+            if (visiting.contains(node))
+                return Optional.of(MessageFormat.format("Circular dependencies: {0} -> [{1}]",
+                        visiting.stream().map(Objects::toString).collect(joining(" -> ")), node));
+            if (!visited.add(node)) return Optional.empty();
+            visiting.addLast(node);
+            for (Edge edge : nodes.get(node)) {
+                if (edge.container()) continue;
+                Optional<String> circular = circular(edge.node(), visiting, visited);
+                if (circular.isPresent()) return circular;
+            }
+            visiting.removeLast();
+            return Optional.empty();
+        }
+    }
+
+    private boolean hasInitializer(VariableElement field) {
+        return trees.getTree(field) instanceof VariableTree tree && tree.getInitializer() != null;
+    }
+
+    private Optional<TypeMirror> exportType(VariableElement field) {
+        return field.getAnnotationMirrors().stream()
+                .filter(a -> name(a).equals(Config.Export.class.getCanonicalName()))
+                .flatMap(a -> a.getElementValues().values().stream())
+                .map(v -> (TypeMirror) v.getValue()).findFirst();
+    }
+
+    private Optional<List<Edge>> dependencies(TypeElement component) {
+        if (component.getKind() != ElementKind.CLASS || component.getModifiers().contains(Modifier.ABSTRACT)) return Optional.empty();
+        List<Element> injectables = new ArrayList<>();
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(component.getEnclosedElements()).stream().filter(this::isInjectable).toList();
+        if (constructors.size() > 1) return Optional.empty();
+        injectables.addAll(constructors);
+        for (TypeElement current = component; current != null; current = superclass(current)) {
+            TypeElement declaring = current;
+            ElementFilter.fieldsIn(current.getEnclosedElements()).stream().filter(this::isInjectable).forEach(injectables::add);
+            ElementFilter.methodsIn(current.getEnclosedElements()).stream().filter(this::isInjectable)
+                    .filter(m -> !isOverridden(m, declaring, component)).forEach(injectables::add);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (Element injectable : injectables) {
+            List<? extends Element> required = injectable instanceof ExecutableElement executable ? executable.getParameters() : List.of(injectable);
+            for (Element element : required) {
+                Optional<Edge> edge = edge(element);
+                if (edge.isEmpty()) return Optional.empty();
+                edges.add(edge.get());
+            }
+        }
+        return Optional.of(edges);
+    }
+
+    private Optional<Edge> edge(Element element) {
+        List<String> qualifiers = qualifiers(element).toList();
+        if (qualifiers.size() > 1 || element.asType().getKind() != TypeKind.DECLARED) return Optional.empty();
+        DeclaredType type = (DeclaredType) element.asType();
+        String qualifier = qualifiers.stream().findFirst().orElse(null);
+        if (type.getTypeArguments().isEmpty()) return Optional.of(new Edge(new Node(erasure(type), qualifier), false));
+        if (!erasure(type).equals(PROVIDER) || type.getTypeArguments().size() != 1) return Optional.empty();
+        return Optional.of(new Edge(new Node(erasure(type.getTypeArguments().get(0)), qualifier), true));
+    }
+
+    private boolean isOverridden(ExecutableElement method, TypeElement declaring, TypeElement component) {
+        for (TypeElement current = component; current != null && !current.equals(declaring); current = superclass(current)) {
+            for (ExecutableElement other : ElementFilter.methodsIn(current.getEnclosedElements()))
+                if (processingEnv.getElementUtils().overrides(other, method, current)) return true;
+        }
+        return false;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        if (type.getSuperclass().getKind() != TypeKind.DECLARED) return null;
+        TypeElement superclass = (TypeElement) ((DeclaredType) type.getSuperclass()).asElement();
+        return superclass.getQualifiedName().contentEquals(Object.class.getName()) ? null : superclass;
+    }
+
+    private boolean isInjectable(Element element) {
+        return element.getAnnotationMirrors().stream().anyMatch(a -> name(a).equals(INJECT));
+    }
+
+    private Stream<String> qualifiers(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .filter(a -> a.getAnnotationType().asElement().getAnnotationMirrors().stream().anyMatch(m -> name(m).equals(QUALIFIER)))
+                .map(this::qualifier);
+    }
+
+    private String qualifier(AnnotationMirror annotation) {
+        return name(annotation) + processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet().stream()
+                .map(e -> e.getKey().getSimpleName() + "=" + e.getValue())
+                .sorted().collect(joining(", ", "(", ")"));
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static String name(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class Destroyer {
+    private static final Set<String> PRE_DESTROY = Set.of("jakarta.annotation.PreDestroy", "javax.annotation.PreDestroy");
+
+    private Destroyer() {
+    }
+
+    static void destroy(Object instance) throws Exception {
+        boolean closed = false;
+        for (Method method : preDestroy(instance.getClass())) {
+            method.setAccessible(true);
+            try {
+                method.invoke(instance);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof Exception cause) throw cause;
+                throw (Error) e.getCause();
+            }
+            closed |= method.getName().equals("close");
+        }
+        if (!closed && instance instanceof AutoCloseable closeable) closeable.close();
+    }
+
+    private static List<Method> preDestroy(Class<?> type) {
+        List<Method> methods = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+            for (Method method : current.getDeclaredMethods())
+                if (isPreDestroy(method) && methods.stream().noneMatch(m -> m.getName().equals(method.getName()) && !Modifier.isPrivate(method.getModifiers())))
+                    methods.add(method);
+        return methods;
+    }
+
+    private static boolean isPreDestroy(Method method) {
+        if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) return false;
+        for (Annotation annotation : method.getAnnotations())
+            if (PRE_DESTROY.contains(annotation.annotationType().getName())) return true;
+        return false;
+    }
+}
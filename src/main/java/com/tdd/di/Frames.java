@@ -0,0 +1,23 @@
+package com.tdd.di;
+
+import java.util.Arrays;
+
+class Frames {
+    private long[] frames = new long[32];
+    private int depth;
+    private long children;
+
+    void push(long start) {
+        if (depth + 2 > frames.length) frames = Arrays.copyOf(frames, frames.length * 2);
+        frames[depth++] = children;
+        frames[depth++] = start;
+        children = 0;
+    }
+
+    long pop(long end) {
+        long total = end - frames[--depth];
+        long exclusive = total - children;
+        children = frames[--depth] + total;
+        return exclusive;
+    }
+}
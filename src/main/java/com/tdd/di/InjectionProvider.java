@@ -9,34 +9,70 @@ import java.text.MessageFormat;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.tdd.di.InjectionProvider.Injectable.of;
 import static java.util.Arrays.stream;
-import static java.util.stream.Stream.concat;
 
 class InjectionProvider<T> implements ComponentProvider<T> {
+    private static final Injectable<?>[] NO_MEMBERS = new Injectable<?>[0];
+    private static final ComponentRef<?>[] NO_DEPENDENCIES = new ComponentRef<?>[0];
+
     private final Injectable<Constructor<T>> injectConstructor;
-    private Collection<Class<?>> superClasses;
-    private Map<Class<?>, List<Injectable<Method>>> injectMethods;
-    private Map<Class<?>, List<Injectable<Field>>> injectFields;
-    private List<ComponentRef<?>> dependencies;
+    private final Injectable<?>[] injectMembers;
+    private final Injectable<?>[] injectStaticMembers;
+    private final List<ComponentRef<?>> dependencies;
+    private final List<ComponentRef<?>> constructionDependencies;
 
     InjectionProvider(Class<T> component) {
-        if (Modifier.isAbstract(component.getModifiers())) throw ComponentError.abstractComponent(component);
-        injectConstructor = getInjectConstructor(component);
-        superClasses = allSuperClass(component);
+        this(component, true);
+    }
+
+    private InjectionProvider(Class<T> component, boolean construct) {
+        if (construct && Modifier.isAbstract(component.getModifiers())) throw ComponentError.abstractComponent(component);
+        injectConstructor = construct ? getInjectConstructor(component) : null;
         var injectFields = getInjectFields(component);
         var injectMethods = getInjectMethods(component);
 
-        this.injectMethods = groupByClass(injectMethods);
-        this.injectFields = groupByClass(injectFields);
-
-        dependencies = concat(concat(Stream.of(injectConstructor), injectFields.stream()),
-                injectMethods.stream())
+        if (injectFields.isEmpty() && injectMethods.isEmpty()) {
+            injectMembers = NO_MEMBERS;
+            injectStaticMembers = NO_MEMBERS;
+            dependencies = injectConstructor == null ? List.of() : List.of(injectConstructor.required());
+            constructionDependencies = dependencies;
+            return;
+        }
+        Map<Class<?>, List<Injectable<Method>>> methods = groupByClass(injectMethods);
+        Map<Class<?>, List<Injectable<Field>>> fields = groupByClass(injectFields);
+        List<Injectable<?>> members = new ArrayList<>();
+        for (Class<?> superClass : allSuperClass(component)) {
+            members.addAll(fields.getOrDefault(superClass, List.of()));
+            members.addAll(methods.getOrDefault(superClass, List.of()));
+        }
+        injectMembers = compact(members.stream().filter(m -> !isStatic(m)));
+        injectStaticMembers = compact(members.stream().filter(InjectionProvider::isStatic));
+        dependencies = Stream.of(Stream.ofNullable(injectConstructor), injectFields.stream(), injectMethods.stream())
+                .flatMap(injectables -> injectables.flatMap(injectable -> stream(injectable.required()))).toList();
+        constructionDependencies = Stream.concat(Stream.ofNullable(injectConstructor), stream(injectMembers))
                 .flatMap(injectable -> stream(injectable.required())).toList();
+    }
 
+    private static Injectable<?>[] compact(Stream<Injectable<?>> members) {
+        Injectable<?>[] compact = members.toArray(Injectable<?>[]::new);
+        return compact.length == 0 ? NO_MEMBERS : compact;
+    }
+
+    static <T> InjectionProvider<T> members(Class<T> component) {
+        return new InjectionProvider<>(component, false);
+    }
+
+    Injectable<Constructor<T>> injectConstructor() {
+        return injectConstructor;
+    }
+
+    Injectable<?>[] injectMembers() {
+        return injectMembers;
     }
 
     private static <E extends AccessibleObject> Map<Class<?>, List<Injectable<E>>> groupByClass(List<Injectable<E>> injectMethods) {
@@ -54,12 +90,24 @@ class InjectionProvider<T> implements ComponentProvider<T> {
 
     record Injectable<Element extends AccessibleObject>(Element element, ComponentRef<?>[] required) {
         public Object[] toDependencies(Context context) {
-            return stream(required).map(context::get).map(Optional::get).toArray();
+            Object[] dependencies = new Object[required.length];
+            for (int i = 0; i < required.length; i++) dependencies[i] = context.get(required[i]).get();
+            return dependencies;
         }
 
         static <Element extends Executable> Injectable<Element> of(Element element) {
             element.setAccessible(true);
-            return new Injectable<>(element, stream(element.getParameters()).map(Injectable::toComponentRef).toArray(ComponentRef<?>[]::new));
+            if (element.getParameterCount() == 0) return new Injectable<>(element, NO_DEPENDENCIES);
+            Type[] types = element.getGenericParameterTypes();
+            Annotation[][] annotations = element.getParameterAnnotations();
+            if (types.length != element.getParameterCount() || annotations.length != element.getParameterCount())
+                return new Injectable<>(element, stream(element.getParameters()).map(Injectable::toComponentRef).toArray(ComponentRef<?>[]::new));
+            ComponentRef<?>[] required = new ComponentRef<?>[types.length];
+            for (int i = 0; i < required.length; i++) {
+                int index = i;
+                required[i] = ComponentRef.of(types[i], getQualifier(annotations[i], () -> element.getParameters()[index]));
+            }
+            return new Injectable<>(element, required);
         }
 
         static Injectable<Field> of(Field field) {
@@ -77,8 +125,12 @@ class InjectionProvider<T> implements ComponentProvider<T> {
         }
 
         private static Annotation getQualifier(final AnnotatedElement element) {
-            List<Annotation> qualifiers = stream(element.getAnnotations()).filter(a -> a.annotationType().isAnnotationPresent(Qualifier.class)).toList();
-            if (qualifiers.size() > 1) throw ComponentError.ambiguousQualifiers(element, qualifiers);
+            return getQualifier(element.getAnnotations(), () -> element);
+        }
+
+        private static Annotation getQualifier(final Annotation[] annotations, final Supplier<AnnotatedElement> element) {
+            List<Annotation> qualifiers = stream(annotations).filter(a -> a.annotationType().isAnnotationPresent(Qualifier.class)).toList();
+            if (qualifiers.size() > 1) throw ComponentError.ambiguousQualifiers(element.get(), qualifiers);
             return qualifiers.stream()
                     .findFirst().orElse(null);
         }
@@ -88,36 +140,41 @@ class InjectionProvider<T> implements ComponentProvider<T> {
     public T get(Context context) {
         try {
             T instance = this.injectConstructor.element().newInstance(injectConstructor.toDependencies(context));
-            injectMembers(context, instance, false);
+            injectMembers(context, instance, injectMembers);
             return instance;
         } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void injectMembers(Context context, T instance, boolean statics) throws IllegalAccessException, InvocationTargetException {
-        for (final Class<?> superClass : superClasses) {
-            for (Injectable<Field> injectField : injectMembers(superClass, injectFields, f -> statics == isStatic(f))) {
-                injectField.element().set(instance, injectField.toDependencies(context)[0]);
-            }
-            for (Injectable<Method> injectMethod : injectMembers(superClass, injectMethods, f -> statics == isStatic(f))) {
-                injectMethod.element().invoke(instance, injectMethod.toDependencies(context));
-            }
+    @Override
+    public boolean constructs() {
+        return injectConstructor != null;
+    }
+
+    void injectMembers(Context context, T instance) {
+        try {
+            injectMembers(context, instance, injectMembers);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
         }
     }
 
-    private <E extends AccessibleObject> boolean isStatic(Injectable<E> f) {
-        return Modifier.isStatic(((Member) f.element()).getModifiers());
+    private static void injectMembers(Context context, Object instance, Injectable<?>[] members) throws IllegalAccessException, InvocationTargetException {
+        for (Injectable<?> member : members) {
+            if (member.element() instanceof Field field) field.set(instance, member.toDependencies(context)[0]);
+            else ((Method) member.element()).invoke(instance, member.toDependencies(context));
+        }
     }
 
-    private <E extends AccessibleObject> List<Injectable<E>> injectMembers(Class<?> superClass, Map<Class<?>, List<Injectable<E>>> members, Predicate<Injectable<E>> predicate) {
-        return members.getOrDefault(superClass, List.of()).stream().filter(predicate).toList();
+    private static boolean isStatic(Injectable<?> injectable) {
+        return Modifier.isStatic(((Member) injectable.element()).getModifiers());
     }
 
     @Override
     public void statics(Context context) {
         try {
-            injectMembers(context, null, true);
+            injectMembers(context, null, injectStaticMembers);
         } catch (IllegalAccessException | InvocationTargetException e) {
             throw new RuntimeException(e);
         }
@@ -128,6 +185,11 @@ class InjectionProvider<T> implements ComponentProvider<T> {
         return dependencies;
     }
 
+    @Override
+    public List<ComponentRef<?>> getConstructionDependencies() {
+        return constructionDependencies;
+    }
+
 
     private static List<Injectable<Method>> getInjectMethods(Class<?> component) {
         List<Injectable<Method>> injectables = InjectionProvider.<Method>traverse(component, (injectMethods1, current) -> injectable(current.getDeclaredMethods())
@@ -0,0 +1,8 @@
+package com.tdd.di;
+
+record InstanceProvider<T>(T instance) implements ComponentProvider<T> {
+    @Override
+    public T get(final Context context) {
+        return instance;
+    }
+}
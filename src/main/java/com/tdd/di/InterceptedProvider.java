@@ -0,0 +1,156 @@
+package com.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.stream.Stream;
+
+class InterceptedProvider<T> implements ComponentProvider<T> {
+    private static final MethodType INVOKE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Class<T> type;
+    private final ComponentProvider<T> provider;
+    private final Map<Method, Interceptor.Chain> chains;
+
+    record Interception(Class<? extends Annotation> binding, Interceptor interceptor) {
+    }
+
+    private InterceptedProvider(Class<T> type, Class<?> implementation, ComponentProvider<T> provider, List<Interception> interceptions) {
+        this(type, provider, new HashMap<>());
+        Stream.concat(Arrays.stream(type.getMethods()), Stream.of("equals", "hashCode", "toString").map(InterceptedProvider::objectMethod))
+                .forEach(method -> chains.put(method, chain(method, implementation, interceptions)));
+    }
+
+    private InterceptedProvider(Class<T> type, ComponentProvider<T> provider, Map<Method, Interceptor.Chain> chains) {
+        this.type = type;
+        this.provider = provider;
+        this.chains = chains;
+    }
+
+    static <T> ComponentProvider<T> intercept(Class<T> type, Class<?> implementation, ComponentProvider<T> provider, List<Interception> interceptions) {
+        List<Interception> applied = interceptions.stream().filter(i -> isBound(type, implementation, i.binding())).toList();
+        if (applied.isEmpty()) return provider;
+        if (!type.isInterface()) throw ContextConfig.ContextConfigException.interceptNonInterface(type);
+        return new InterceptedProvider<>(type, implementation, provider, applied);
+    }
+
+    static boolean isBound(Class<?> type, Class<?> implementation, Class<? extends Annotation> binding) {
+        return Arrays.stream(type.getMethods()).anyMatch(m -> isBound(m, implementation, binding));
+    }
+
+    private static boolean isBound(Method method, Class<?> implementation, Class<? extends Annotation> binding) {
+        if (method.isAnnotationPresent(binding) || implementation.isAnnotationPresent(binding)) return true;
+        try {
+            return implementation.getMethod(method.getName(), method.getParameterTypes()).isAnnotationPresent(binding);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Method objectMethod(String name) {
+        try {
+            return name.equals("equals") ? Object.class.getMethod(name, Object.class) : Object.class.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Interceptor.Chain chain(Method method, Class<?> implementation, List<Interception> interceptions) {
+        Interceptor.Chain chain = new Invoke(handle(method));
+        if (method.getDeclaringClass() == Object.class) return chain;
+        List<Interception> applied = interceptions.stream().filter(i -> isBound(method, implementation, i.binding())).toList();
+        for (int i = applied.size() - 1; i >= 0; i--) chain = new Intercept(applied.get(i).interceptor(), method, chain);
+        return chain;
+    }
+
+    static MethodHandle handle(Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            method.setAccessible(true);
+            try {
+                handle = lookup.unreflect(method);
+            } catch (IllegalAccessException again) {
+                throw new RuntimeException(again);
+            }
+        }
+        return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKE);
+    }
+
+    private record Invoke(MethodHandle handle) implements Interceptor.Chain {
+        @Override
+        public Object proceed(final Object target, final Object[] arguments) throws Throwable {
+            return (Object) handle.invokeExact(target, arguments);
+        }
+    }
+
+    private record Intercept(Interceptor interceptor, Method method, Interceptor.Chain next) implements Interceptor.Chain {
+        @Override
+        public Object proceed(final Object target, final Object[] arguments) throws Throwable {
+            return interceptor.intercept(target, method, arguments, next);
+        }
+    }
+
+    @Override
+    public T get(final Context context) {
+        T target = provider.get(context);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Intercepted(target)));
+    }
+
+    static Object target(Object instance) {
+        if (Proxy.isProxyClass(instance.getClass()) && Proxy.getInvocationHandler(instance) instanceof InterceptedProvider<?>.Intercepted intercepted)
+            return intercepted.target;
+        return instance;
+    }
+
+    private class Intercepted implements InvocationHandler {
+        private final Object target;
+
+        Intercepted(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            return chains.get(method).proceed(target, args == null ? NO_ARGUMENTS : args);
+        }
+    }
+
+    @Override
+    public boolean constructs() {
+        return provider.constructs();
+    }
+
+    @Override
+    public void statics(final Context context) {
+        provider.statics(context);
+    }
+
+    @Override
+    public ComponentProvider<T> renew() {
+        return new InterceptedProvider<>(type, provider.renew(), chains);
+    }
+
+    @Override
+    public List<T> dispose() {
+        return provider.dispose();
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+
+    @Override
+    public List<ComponentRef<?>> getConstructionDependencies() {
+        return provider.getConstructionDependencies();
+    }
+}
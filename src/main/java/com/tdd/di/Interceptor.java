@@ -0,0 +1,11 @@
+package com.tdd.di;
+
+import java.lang.reflect.Method;
+
+public interface Interceptor {
+    Object intercept(Object target, Method method, Object[] arguments, Chain next) throws Throwable;
+
+    interface Chain {
+        Object proceed(Object target, Object[] arguments) throws Throwable;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tdd.di;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class LazyProvider<T> implements ComponentProvider<T> {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Class<T> type;
+    private final ComponentProvider<T> provider;
+    private final Map<Method, MethodHandle> handles;
+    private volatile T shared;
+
+    LazyProvider(Class<T> type, ComponentProvider<T> provider) {
+        this(type, provider, new HashMap<>());
+        Arrays.stream(type.getMethods()).forEach(method -> handles.put(method, InterceptedProvider.handle(method)));
+    }
+
+    private LazyProvider(Class<T> type, ComponentProvider<T> provider, Map<Method, MethodHandle> handles) {
+        this.type = type;
+        this.provider = provider;
+        this.handles = handles;
+    }
+
+    @Override
+    public T get(final Context context) {
+        if (!(provider instanceof SingletonProvider<T>)) return proxy(context);
+        T proxy = shared;
+        if (proxy != null) return proxy;
+        synchronized (this) {
+            if (shared == null) shared = proxy(context);
+            return shared;
+        }
+    }
+
+    private T proxy(Context context) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Deferred(context)));
+    }
+
+    @Override
+    public ComponentProvider<T> renew() {
+        return new LazyProvider<>(type, provider.renew(), handles);
+    }
+
+    @Override
+    public void release(final T instance) {
+        if (instance != null && Proxy.isProxyClass(instance.getClass())
+                && Proxy.getInvocationHandler(instance) instanceof LazyProvider<?>.Deferred deferred && deferred.instance != null)
+            provider.release(type.cast(deferred.instance));
+    }
+
+    @Override
+    public List<T> dispose() {
+        shared = null;
+        return provider.dispose();
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+
+    private class Deferred implements InvocationHandler {
+        private final Context context;
+        private volatile T instance;
+
+        Deferred(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) return object(proxy, method, args);
+            T target = instance;
+            if (target == null) target = initialize();
+            Object[] arguments = args == null ? NO_ARGUMENTS : args;
+            return (Object) handles.get(method).invokeExact((Object) target, arguments);
+        }
+
+        private Object object(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> type.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            };
+        }
+
+        private synchronized T initialize() {
+            if (instance == null) instance = provider.get(context);
+            return instance;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.tdd.di;
+
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toMap;
+
+class Multibinding {
+    private final List<ComponentProvider<?>> elements;
+    private final Map<Object, ComponentProvider<?>> entries;
+    private volatile List<Object> list;
+    private volatile Set<Object> set;
+    private volatile Map<Object, Object> map;
+
+    Multibinding() {
+        this(List.of(), Map.of());
+    }
+
+    private Multibinding(List<ComponentProvider<?>> elements, Map<Object, ComponentProvider<?>> entries) {
+        this.elements = elements;
+        this.entries = entries;
+    }
+
+    Multibinding element(ComponentProvider<?> provider) {
+        return new Multibinding(Stream.concat(elements.stream(), Stream.of(provider)).toList(), entries);
+    }
+
+    boolean contains(Object key) {
+        return entries.containsKey(key);
+    }
+
+    Multibinding entry(Object key, ComponentProvider<?> provider) {
+        Map<Object, ComponentProvider<?>> entries = new LinkedHashMap<>(this.entries);
+        entries.put(key, provider);
+        return new Multibinding(elements, Collections.unmodifiableMap(entries));
+    }
+
+    boolean supports(ComponentRef<?> ref) {
+        Type container = ref.getContainer();
+        if (container == Map.class) return !entries.isEmpty() && entries.keySet().stream().allMatch(ref.getKeyType()::isInstance);
+        return (container == Set.class || container == List.class) && !elements.isEmpty();
+    }
+
+    Object get(Type container, Context context) {
+        if (container == Map.class) {
+            Map<Object, Object> map = this.map;
+            if (map != null) return map;
+            map = Map.copyOf(entries.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> e.getValue().get(context))));
+            if (isShared(entries.values())) this.map = map;
+            return map;
+        }
+        if (container == Set.class) {
+            Set<Object> set = this.set;
+            if (set != null) return set;
+            set = Set.copyOf(elements(context));
+            if (isShared(elements)) this.set = set;
+            return set;
+        }
+        List<Object> list = this.list;
+        if (list != null) return list;
+        list = elements(context);
+        if (isShared(elements)) this.list = list;
+        return list;
+    }
+
+    private List<Object> elements(Context context) {
+        return elements.stream().map(p -> (Object) p.get(context)).toList();
+    }
+
+    private static boolean isShared(Collection<ComponentProvider<?>> providers) {
+        return providers.stream().allMatch(p -> p instanceof InstanceProvider<?> || p instanceof SingletonProvider<?>);
+    }
+
+    List<ComponentRef<?>> getDependencies() {
+        return Stream.concat(elements.stream(), entries.values().stream()).flatMap(p -> p.getDependencies().stream()).toList();
+    }
+
+    List<Object> dispose() {
+        List<Object> disposed = Stream.concat(elements.stream(), entries.values().stream()).flatMap(p -> p.dispose().stream()).map(Object.class::cast).toList();
+        list = null;
+        set = null;
+        map = null;
+        return disposed;
+    }
+
+    Multibinding renew(Set<Component> affected, UnaryOperator<ComponentProvider<?>> renew) {
+        UnaryOperator<ComponentProvider<?>> renewed = p -> p.getDependencies().stream()
+                .anyMatch(d -> !d.isContainer() && affected.contains(d.component())) ? renew.apply(p) : p;
+        Map<Object, ComponentProvider<?>> entries = new LinkedHashMap<>();
+        this.entries.forEach((key, provider) -> entries.put(key, renewed.apply(provider)));
+        return new Multibinding(elements.stream().map(renewed).toList(), Collections.unmodifiableMap(entries));
+    }
+}
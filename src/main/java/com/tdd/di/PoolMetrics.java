@@ -0,0 +1,4 @@
+package com.tdd.di;
+
+public record PoolMetrics(int capacity, int created, int idle, long acquired, long exhausted) {
+}
@@ -0,0 +1,118 @@
+package com.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+class PooledProvider<T> implements ComponentProvider<T> {
+    private final ComponentProvider<T> provider;
+    private final int max;
+    private final AtomicReferenceArray<T> idle;
+    private final AtomicReferenceArray<T> members;
+    private final AtomicInteger created = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public PooledProvider(final ComponentProvider<T> provider) {
+        this(provider, 8);
+    }
+
+    public PooledProvider(final ComponentProvider<T> provider, int max) {
+        this.provider = provider;
+        this.max = max;
+        this.idle = new AtomicReferenceArray<>(max);
+        this.members = new AtomicReferenceArray<>(max);
+    }
+
+    @Override
+    public T get(final Context context) {
+        acquired.increment();
+        int start = stripe();
+        for (int i = 0; i < max; i++) {
+            int slot = (start + i) % max;
+            T instance = idle.get(slot);
+            if (instance != null && idle.compareAndSet(slot, instance, null)) return instance;
+        }
+        if (created.getAndUpdate(n -> n < max ? n + 1 : n) < max) {
+            T instance;
+            try {
+                instance = provider.get(context);
+            } catch (RuntimeException | Error e) {
+                created.decrementAndGet();
+                throw e;
+            }
+            for (int slot = 0; slot < max; slot++)
+                if (members.compareAndSet(slot, null, instance)) return instance;
+            created.decrementAndGet();
+            return instance;
+        }
+        exhausted.increment();
+        return provider.get(context);
+    }
+
+    @Override
+    public void release(final T instance) {
+        if (instance == null) return;
+        for (int i = 0; i < max; i++) {
+            if (members.get(i) == instance) {
+                idle.compareAndSet(i, null, instance);
+                return;
+            }
+        }
+    }
+
+    private int stripe() {
+        return ThreadLocalRandom.current().nextInt(max);
+    }
+
+    @Override
+    public ComponentProvider<T> renew() {
+        return new PooledProvider<>(provider.renew(), max);
+    }
+
+    @Override
+    public List<T> dispose() {
+        List<T> disposed = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            idle.set(i, null);
+            T member = members.getAndSet(i, null);
+            if (member != null) disposed.add(member);
+        }
+        created.set(0);
+        return disposed;
+    }
+
+    PoolMetrics metrics() {
+        int idle = 0;
+        for (int i = 0; i < max; i++) if (this.idle.get(i) != null) idle++;
+        return new PoolMetrics(max, created.get(), idle, acquired.sum(), exhausted.sum());
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+
+    @Override
+    public List<ComponentRef<?>> getConstructionDependencies() {
+        return provider.getConstructionDependencies();
+    }
+
+    static class Scope implements ContextConfig.ScopeProvider {
+        @Override
+        public ComponentProvider<?> create(final ComponentProvider<?> provider) {
+            return new PooledProvider<>(provider);
+        }
+
+        @Override
+        public ComponentProvider<?> create(final Class<?> implementation, final Annotation scope, final ComponentProvider<?> provider) {
+            int max = ((Pooled) scope).max();
+            if (max < 1) throw ContextConfig.ContextConfigException.illegalAnnotation(implementation, List.of(scope));
+            return new PooledProvider<>(provider, max);
+        }
+    }
+}
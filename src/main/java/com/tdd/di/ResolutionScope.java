@@ -0,0 +1,67 @@
+package com.tdd.di;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ResolutionScope implements ContextConfig.ScopeProvider {
+    private static final Map<ComponentProvider<?>, Object> UNUSED = Map.of();
+
+    private final ThreadLocal<Map<ComponentProvider<?>, Object>> current = new ThreadLocal<>();
+
+    @Override
+    public ComponentProvider<?> create(final ComponentProvider<?> provider) {
+        return new ResolutionScopedProvider<>(provider);
+    }
+
+    boolean enter() {
+        if (current.get() != null) return false;
+        current.set(UNUSED);
+        return true;
+    }
+
+    void exit() {
+        current.remove();
+    }
+
+    private class ResolutionScopedProvider<T> implements ComponentProvider<T> {
+        private final ComponentProvider<T> provider;
+
+        ResolutionScopedProvider(final ComponentProvider<T> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(final Context context) {
+            Map<ComponentProvider<?>, Object> instances = current.get();
+            if (instances == null) return provider.get(context);
+            T instance = (T) instances.get(this);
+            if (instance != null) return instance;
+            instance = provider.get(context);
+            if (current.get() == UNUSED) current.set(new IdentityHashMap<>());
+            current.get().put(this, instance);
+            return instance;
+        }
+
+        @Override
+        public ComponentProvider<T> renew() {
+            return new ResolutionScopedProvider<>(provider.renew());
+        }
+
+        @Override
+        public void release(final T instance) {
+            provider.release(instance);
+        }
+
+        @Override
+        public List<ComponentRef<?>> getDependencies() {
+            return provider.getDependencies();
+        }
+
+        @Override
+        public List<ComponentRef<?>> getConstructionDependencies() {
+            return provider.getConstructionDependencies();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+public record ResolutionTrace(Component component, Class<? extends Annotation> scope, long nanos, List<ResolutionTrace> dependencies) {
+}
@@ -3,7 +3,7 @@ package com.tdd.di;
 import java.util.List;
 
 class SingletonProvider<T> implements ComponentProvider<T> {
-    private T singleton;
+    private volatile T singleton;
     private ComponentProvider<T> provider;
 
     public SingletonProvider(final ComponentProvider<T> provider) {
@@ -12,14 +12,38 @@ class SingletonProvider<T> implements ComponentProvider<T> {
 
     @Override
     public T get(final Context context) {
-        if (singleton == null) {
-            return singleton = provider.get(context);
+        T instance = singleton;
+        if (instance != null) return instance;
+        synchronized (this) {
+            if (singleton == null) singleton = provider.get(context);
+            return singleton;
         }
-        return singleton;
+    }
+
+    @Override
+    public boolean constructs() {
+        return singleton == null && provider.constructs();
+    }
+
+    @Override
+    public synchronized List<T> dispose() {
+        T instance = singleton;
+        singleton = null;
+        return instance == null ? List.of() : List.of(instance);
+    }
+
+    @Override
+    public ComponentProvider<T> renew() {
+        return new SingletonProvider<>(provider.renew());
     }
 
     @Override
     public List<ComponentRef<?>> getDependencies() {
         return provider.getDependencies();
     }
+
+    @Override
+    public List<ComponentRef<?>> getConstructionDependencies() {
+        return provider.getConstructionDependencies();
+    }
 }
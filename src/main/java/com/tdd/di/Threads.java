@@ -0,0 +1,27 @@
+package com.tdd.di;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+class Threads {
+    private Threads() {
+    }
+
+    static ExecutorService executor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemon());
+        }
+    }
+
+    private static ThreadFactory daemon() {
+        ThreadFactory threads = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = threads.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+class Tracer {
+    private static final Span UNSAMPLED = new Span(null, null, null);
+
+    private final double rate;
+    private final Consumer<ResolutionTrace> sink;
+    private final Map<Component, Annotation> scopes;
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    Tracer(double rate, Consumer<ResolutionTrace> sink, Map<Component, Annotation> scopes) {
+        this.rate = rate;
+        this.sink = sink;
+        this.scopes = scopes;
+    }
+
+    Span enter(Component component) {
+        Span parent = current.get();
+        if (parent == UNSAMPLED) return null;
+        if (parent == null && ThreadLocalRandom.current().nextDouble() >= rate) {
+            current.set(UNSAMPLED);
+            return UNSAMPLED;
+        }
+        Span span = new Span(component, scope(component), parent);
+        current.set(span);
+        return span;
+    }
+
+    Span enterNested(Component component) {
+        Span parent = current.get();
+        if (parent == null || parent == UNSAMPLED) return null;
+        Span span = new Span(component, null, parent);
+        current.set(span);
+        return span;
+    }
+
+    void exit(Span span) {
+        if (span == null) return;
+        if (span == UNSAMPLED) {
+            current.remove();
+            return;
+        }
+        ResolutionTrace trace = span.trace();
+        if (span.parent == null) {
+            current.remove();
+            try {
+                sink.accept(trace);
+            } catch (RuntimeException ignored) {
+            }
+            return;
+        }
+        span.parent.dependencies.add(trace);
+        current.set(span.parent);
+    }
+
+    void detach(Span span) {
+        if (span == null) return;
+        if (span.parent.detached == null) span.parent.detached = new HashMap<>();
+        span.parent.detached.computeIfAbsent(span.component, c -> new ArrayDeque<>()).add(span.trace());
+        current.set(span.parent);
+    }
+
+    void adopt(Component component) {
+        Span span = current.get();
+        if (span == null || span == UNSAMPLED) return;
+        for (Span owner = span.parent; owner != null; owner = owner.parent) {
+            Deque<ResolutionTrace> traces = owner.detached == null ? null : owner.detached.get(component);
+            if (traces != null && !traces.isEmpty()) {
+                span.adopted = traces.poll();
+                return;
+            }
+        }
+    }
+
+    private Class<? extends Annotation> scope(Component component) {
+        Annotation scope = scopes.get(component);
+        return scope == null ? null : scope.annotationType();
+    }
+
+    static final class Span {
+        private final Component component;
+        private final Class<? extends Annotation> scope;
+        private final Span parent;
+        private final long start = System.nanoTime();
+        private final List<ResolutionTrace> dependencies = new ArrayList<>();
+        private Map<Component, Deque<ResolutionTrace>> detached;
+        private ResolutionTrace adopted;
+
+        private Span(Component component, Class<? extends Annotation> scope, Span parent) {
+            this.component = component;
+            this.scope = scope;
+            this.parent = parent;
+        }
+
+        private ResolutionTrace trace() {
+            long nanos = System.nanoTime() - start;
+            if (adopted == null) return new ResolutionTrace(component, scope, nanos, List.copyOf(dependencies));
+            List<ResolutionTrace> all = new ArrayList<>(adopted.dependencies());
+            all.addAll(dependencies);
+            return new ResolutionTrace(component, scope, nanos + adopted.nanos(), List.copyOf(all));
+        }
+    }
+}
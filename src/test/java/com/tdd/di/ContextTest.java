@@ -1,18 +1,51 @@
 package com.tdd.di;
 
 import com.tdd.di.InjectionTest.ConstructorInjectionTest.InjectConstructor;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import javax.tools.*;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -35,6 +68,23 @@ class ContextTest {
         };
     }
 
+    static <T> List<T> inParallel(Supplier<ExecutorService> threads, int tasks, IntFunction<T> task) throws Exception {
+        ExecutorService executor = threads.get();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = IntStream.range(0, tasks).mapToObj(i -> executor.submit(() -> {
+                start.await();
+                return task.apply(i);
+            })).toList();
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) results.add(future.get(30, TimeUnit.SECONDS));
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 
     @Nested
     class TypeBindingTest {
@@ -212,11 +262,22 @@ class ContextTest {
 
         @Test
         void should_bind_component_with_customize_scope() {
-            config.scope(Pooled.class, PooledProvider::new);
-            config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+            config.scope(Recycled.class, RecycledProvider::new);
+            config.component(TestComponent.class, NotSingleton.class, new RecycledLiteral());
             Context context = config.getContext();
             Set<TestComponent> components = IntStream.range(0, 5).mapToObj(i -> context.get(ComponentRef.of(TestComponent.class)).get()).collect(Collectors.toSet());
-            assertEquals(PooledProvider.MAX, components.size());
+            assertEquals(RecycledProvider.MAX, components.size());
+        }
+
+        @Test
+        void should_bind_component_with_pooled_scope_by_default() {
+            config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+            Context context = config.getContext();
+            ComponentRef<TestComponent> ref = ComponentRef.of(TestComponent.class);
+            List<TestComponent> components = IntStream.range(0, PooledLiteral.MAX).mapToObj(i -> context.get(ref).get()).toList();
+            components.forEach(c -> context.release(ref, c));
+            Set<TestComponent> reused = IntStream.range(0, PooledLiteral.MAX).mapToObj(i -> context.get(ref).get()).collect(Collectors.toSet());
+            assertEquals(Set.copyOf(components), reused);
         }
 
         @Test
@@ -254,18 +315,275 @@ class ContextTest {
         @Test
         void should_throw_exception_if_multi_scope_annotated() {
             ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(TestComponent.class, MultiScopeAnnotation.class));
-            assertEquals("Unqualified annotations: @jakarta.inject.Singleton() , @com.tdd.di.Pooled() of class com.tdd.di.ContextTest$WithScope$MultiScopeAnnotation",
+            assertEquals("Unqualified annotations: @jakarta.inject.Singleton() , @com.tdd.di.Pooled(max=8) of class com.tdd.di.ContextTest$WithScope$MultiScopeAnnotation",
                     exception.getMessage());
         }
 
 
         @Test
         void should_throw_exception_if_scope_undefined() {
-            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(TestComponent.class, NotSingleton.class, new PooledLiteral()));
-            assertEquals("Unknown scope: interface com.tdd.di.Pooled",
+            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(TestComponent.class, NotSingleton.class, new RecycledLiteral()));
+            assertEquals("Unknown scope: interface com.tdd.di.Recycled",
                     exception.getMessage());
         }
 
+        @Nested
+        class PooledScope {
+            private ComponentRef<TestComponent> ref;
+
+            @BeforeEach
+            void setUp() {
+                ref = ComponentRef.of(TestComponent.class);
+            }
+
+            @Test
+            void should_reuse_released_instance() {
+                config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+                Context context = config.getContext();
+                TestComponent component = context.get(ref).get();
+                context.release(ref, component);
+                assertSame(component, context.get(ref).get());
+            }
+
+            @Test
+            void should_not_hand_out_idle_instance_twice() {
+                config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+                Context context = config.getContext();
+                TestComponent component = context.get(ref).get();
+                context.release(ref, component);
+                context.release(ref, component);
+                assertSame(component, context.get(ref).get());
+                assertNotSame(component, context.get(ref).get());
+            }
+
+            @Test
+            void should_create_unpooled_instance_if_pool_exhausted() {
+                config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+                Context context = config.getContext();
+                List<TestComponent> members = IntStream.range(0, PooledLiteral.MAX).mapToObj(i -> context.get(ref).get()).toList();
+                TestComponent overflow = context.get(ref).get();
+                assertFalse(members.contains(overflow));
+
+                context.release(ref, overflow);
+                members.forEach(c -> context.release(ref, c));
+                Set<TestComponent> reused = IntStream.range(0, PooledLiteral.MAX + 1).mapToObj(i -> context.get(ref).get()).collect(Collectors.toSet());
+                assertFalse(reused.contains(overflow));
+            }
+
+            @Test
+            void should_record_pool_metrics() {
+                config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+                Context context = config.getContext();
+                List<TestComponent> components = IntStream.range(0, PooledLiteral.MAX + 1).mapToObj(i -> context.get(ref).get()).toList();
+                context.release(ref, components.get(0));
+
+                assertEquals(new PoolMetrics(PooledLiteral.MAX, PooledLiteral.MAX, 1, PooledLiteral.MAX + 1, 1),
+                        config.poolMetrics().get(new Component(TestComponent.class, null)));
+            }
+
+            @Test
+            void should_record_pool_metrics_per_binding() {
+                config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+                config.component(TestComponent.class, NotSingleton.class, new PooledLiteral(), new SkywalkerLiteral());
+                Context context = config.getContext();
+                context.get(ref).get();
+
+                assertEquals(1, config.poolMetrics().get(new Component(TestComponent.class, null)).created());
+                assertEquals(0, config.poolMetrics().get(new Component(TestComponent.class, new SkywalkerLiteral())).created());
+            }
+
+            @Test
+            void should_not_pool_instance_twice_if_released_concurrently() throws Exception {
+                config.component(TestComponent.class, NotSingleton.class, new PooledLiteral());
+                Context context = config.getContext();
+                List<TestComponent> members = IntStream.range(0, PooledLiteral.MAX).mapToObj(i -> context.get(ref).get()).toList();
+                TestComponent component = members.get(0);
+                context.release(ref, members.get(1));
+                context.get(ref).get();
+
+                ExecutorService executor = Executors.newFixedThreadPool(2);
+                try {
+                    for (int i = 0; i < 1000; i++) {
+                        CountDownLatch start = new CountDownLatch(1);
+                        List<Future<?>> releases = IntStream.range(0, 2).<Future<?>>mapToObj(r -> executor.submit(() -> {
+                            start.await();
+                            context.release(ref, component);
+                            return null;
+                        })).toList();
+                        start.countDown();
+                        for (Future<?> release : releases) release.get();
+
+                        assertSame(component, context.get(ref).get());
+                        assertNotSame(component, context.get(ref).get());
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+            }
+
+            @Pooled(max = 1)
+            static class FailingOnce implements TestComponent {
+                static final AtomicBoolean failed = new AtomicBoolean();
+
+                FailingOnce() {
+                    if (failed.compareAndSet(false, true)) throw new IllegalStateException("failed");
+                }
+            }
+
+            @Test
+            void should_return_slot_if_construction_failed() {
+                FailingOnce.failed.set(false);
+                config.component(TestComponent.class, FailingOnce.class);
+                Context context = config.getContext();
+                assertThrows(RuntimeException.class, () -> context.get(ref));
+
+                TestComponent component = context.get(ref).get();
+                context.release(ref, component);
+                assertSame(component, context.get(ref).get());
+                assertEquals(new PoolMetrics(1, 1, 0, 3, 0), config.poolMetrics().get(new Component(TestComponent.class, null)));
+            }
+
+            @Pooled(max = 0)
+            static class EmptyPool implements TestComponent {
+            }
+
+            @Test
+            void should_throw_exception_if_pool_size_not_positive() {
+                assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(TestComponent.class, EmptyPool.class));
+            }
+        }
+
+        @Nested
+        class CachedScope {
+            private final AtomicLong clock = new AtomicLong();
+            private final List<Runnable> refreshes = new ArrayList<>();
+            private CachedProvider.Scope scope;
+            private ComponentRef<TestComponent> ref;
+
+            @BeforeEach
+            void setUp() {
+                ref = ComponentRef.of(TestComponent.class);
+            }
+
+            @Cached(ttl = 10, unit = TimeUnit.NANOSECONDS)
+            static class CachedComponent implements TestComponent {
+            }
+
+            @Cached(ttl = 10, unit = TimeUnit.NANOSECONDS)
+            static class AnotherCachedComponent implements TestComponent {
+            }
+
+            private Context cached(int maxSize) {
+                scope = new CachedProvider.Scope(maxSize, () -> refreshes::add, clock::get);
+                config.scope(Cached.class, scope);
+                config.component(TestComponent.class, CachedComponent.class);
+                config.component(TestComponent.class, AnotherCachedComponent.class, new SkywalkerLiteral());
+                return config.getContext();
+            }
+
+            @Test
+            void should_keep_instance_within_ttl() {
+                Context context = cached(Integer.MAX_VALUE);
+                TestComponent component = context.get(ref).get();
+                clock.set(9);
+                assertSame(component, context.get(ref).get());
+                assertTrue(refreshes.isEmpty());
+            }
+
+            @Test
+            void should_return_stale_instance_and_refresh_in_background_after_ttl() {
+                Context context = cached(Integer.MAX_VALUE);
+                TestComponent component = context.get(ref).get();
+                clock.set(10);
+                assertSame(component, context.get(ref).get());
+                assertSame(component, context.get(ref).get());
+                assertEquals(1, refreshes.size());
+
+                refreshes.get(0).run();
+                TestComponent refreshed = context.get(ref).get();
+                assertNotSame(component, refreshed);
+                assertSame(refreshed, context.get(ref).get());
+            }
+
+            @Test
+            void should_evict_least_recently_used_instance_if_max_size_exceeded() {
+                Context context = cached(1);
+                ComponentRef<TestComponent> another = ComponentRef.of(TestComponent.class, new SkywalkerLiteral());
+                TestComponent component = context.get(ref).get();
+                context.get(another).get();
+                assertNotSame(component, context.get(ref).get());
+            }
+
+            @Test
+            void should_not_store_refreshed_instance_after_dispose() {
+                Context context = cached(Integer.MAX_VALUE);
+                context.get(ref).get();
+                clock.set(10);
+                context.get(ref).get();
+                context.close();
+
+                refreshes.get(0).run();
+                assertEquals(0, scope.size());
+            }
+
+            @Test
+            void should_create_refresh_executor_on_first_refresh_and_shut_it_down_on_close() {
+                List<ExecutorService> executors = new ArrayList<>();
+                config.scope(Cached.class, new CachedProvider.Scope(Integer.MAX_VALUE, () -> {
+                    ExecutorService executor = Executors.newSingleThreadExecutor();
+                    executors.add(executor);
+                    return executor;
+                }, clock::get));
+                config.component(TestComponent.class, CachedComponent.class);
+                Context context = config.getContext();
+                context.get(ref).get();
+                assertTrue(executors.isEmpty());
+
+                clock.set(10);
+                context.get(ref).get();
+                assertEquals(1, executors.size());
+
+                context.close();
+                assertTrue(executors.get(0).isShutdown());
+            }
+
+            @Cached
+            static class LongLived implements TestComponent {
+            }
+
+            @Test
+            void should_register_cached_scope_by_default() {
+                config.component(TestComponent.class, LongLived.class);
+                Context context = config.getContext();
+                assertSame(context.get(ref).get(), context.get(ref).get());
+            }
+
+            @Test
+            void should_bound_default_cached_scope() {
+                config.cacheSize(1);
+                config.component(TestComponent.class, LongLived.class);
+                config.component(TestComponent.class, LongLived.class, new SkywalkerLiteral());
+                Context context = config.getContext();
+                TestComponent component = context.get(ref).get();
+                context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())).get();
+                assertNotSame(component, context.get(ref).get());
+            }
+
+            @Test
+            void should_throw_exception_if_cache_size_not_positive() {
+                assertThrows(ContextConfig.ContextConfigException.class, () -> config.cacheSize(0));
+            }
+
+            @Cached(ttl = 0)
+            static class NoTtl implements TestComponent {
+            }
+
+            @Test
+            void should_throw_exception_if_ttl_not_positive() {
+                assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(TestComponent.class, NoTtl.class));
+            }
+        }
+
         @Nested
         class WithQualifier {
 
@@ -527,6 +845,43 @@ class ContextTest {
             assertTrue(config.getContext().get(ComponentRef.of(Dependency.class)).isPresent());
         }
 
+        @Nested
+        class WithRoots {
+            @Test
+            void should_not_check_components_unreachable_from_roots() {
+                config.instance(Dependency.class, dependency);
+                config.component(TestComponent.class, MissingDependencyConstructor.class, new SkywalkerLiteral());
+                config.component(AnotherDependency.class, IndirectCyclicAnotherDependencyInjectField.class);
+
+                Context context = assertDoesNotThrow(() -> config.getContext(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())));
+                assertTrue(context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())).isPresent());
+            }
+
+            @Test
+            void should_check_dependencies_reachable_from_roots() {
+                config.component(TestComponent.class, MissingDependencyConstructor.class);
+                assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext(ComponentRef.of(TestComponent.class)));
+            }
+
+            @Test
+            void should_check_cyclic_dependencies_reachable_from_roots() {
+                config.component(TestComponent.class, CyclicComponentInjectConstructor.class);
+                config.component(Dependency.class, CyclicDependencyInjectField.class);
+                assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext(ComponentRef.of(Dependency.class)));
+            }
+
+            @Test
+            void should_check_unreachable_component_when_first_requested() {
+                config.instance(Dependency.class, dependency);
+                config.component(AnotherDependency.class, IndirectCyclicAnotherDependencyInjectField.class);
+                Context context = config.getContext(ComponentRef.of(Dependency.class));
+
+                assertThrows(ContextConfig.ContextConfigError.class, () -> context.get(ComponentRef.of(AnotherDependency.class)));
+                assertThrows(ContextConfig.ContextConfigError.class, () -> context.get(new ComponentRef<Provider<AnotherDependency>>() {
+                }));
+            }
+        }
+
         @Nested
         class WithQualifier {
 
@@ -653,6 +1008,1973 @@ class ContextTest {
         }
     }
 
+    @Nested
+    class Multibindings {
+        static class DependencyA implements Dependency {
+        }
+
+        static class DependencyB implements Dependency {
+        }
+
+        static class SetInjection implements TestComponent {
+            @Inject
+            Set<Dependency> dependencies;
+        }
+
+        static class ListInjection implements TestComponent {
+            @Inject
+            List<Dependency> dependencies;
+        }
+
+        static class MapInjection implements TestComponent {
+            @Inject
+            Map<String, Dependency> dependencies;
+        }
+
+        @Test
+        void should_retrieve_all_contributions_as_list_in_contribution_order() {
+            Dependency another = new Dependency() {
+            };
+            config.contributeInstance(Dependency.class, dependency);
+            config.contributeInstance(Dependency.class, another);
+
+            List<Dependency> dependencies = config.getContext().get(new ComponentRef<List<Dependency>>() {
+            }).get();
+            assertEquals(List.of(dependency, another), dependencies);
+        }
+
+        @Test
+        void should_inject_contributions_as_set() {
+            config.contribute(Dependency.class, DependencyA.class);
+            config.contribute(Dependency.class, DependencyB.class);
+            config.component(TestComponent.class, SetInjection.class);
+
+            SetInjection component = (SetInjection) config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+            assertEquals(Set.of(DependencyA.class, DependencyB.class), component.dependencies.stream().map(Object::getClass).collect(Collectors.toSet()));
+        }
+
+        @Test
+        void should_inject_keyed_contributions_as_map() {
+            config.contributeInstance(Dependency.class, "a", dependency);
+            config.contribute(Dependency.class, "b", DependencyB.class);
+            config.component(TestComponent.class, MapInjection.class);
+
+            MapInjection component = (MapInjection) config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+            assertSame(dependency, component.dependencies.get("a"));
+            assertInstanceOf(DependencyB.class, component.dependencies.get("b"));
+        }
+
+        @Test
+        void should_throw_exception_if_contributed_key_not_instance_of_declared_key_type() {
+            config.contributeInstance(Dependency.class, 1, dependency);
+            config.component(TestComponent.class, MapInjection.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        @Test
+        void should_not_retrieve_map_with_mismatched_key_type() {
+            config.contributeInstance(Dependency.class, 1, dependency);
+            Context context = config.getContext();
+
+            assertTrue(context.get(new ComponentRef<Map<String, Dependency>>() {
+            }).isEmpty());
+            assertSame(dependency, context.get(new ComponentRef<Map<Integer, Dependency>>() {
+            }).get().get(1));
+        }
+
+        @Test
+        void should_reuse_collection_if_all_contributions_are_singletons() {
+            config.contributeInstance(Dependency.class, dependency);
+            config.contribute(Dependency.class, DependencyA.class, new SingletonLiteral());
+            Context context = config.getContext();
+
+            ComponentRef<Set<Dependency>> ref = new ComponentRef<>() {
+            };
+            assertSame(context.get(ref).get(), context.get(ref).get());
+        }
+
+        @Test
+        void should_build_collection_every_time_if_contributions_not_singletons() {
+            config.contributeInstance(Dependency.class, dependency);
+            config.contribute(Dependency.class, DependencyA.class);
+            Context context = config.getContext();
+
+            ComponentRef<List<Dependency>> ref = new ComponentRef<>() {
+            };
+            assertNotSame(context.get(ref).get().get(1), context.get(ref).get().get(1));
+        }
+
+        @Test
+        void should_retrieve_immutable_collection() {
+            config.contributeInstance(Dependency.class, dependency);
+            List<Dependency> dependencies = config.getContext().get(new ComponentRef<List<Dependency>>() {
+            }).get();
+            assertThrows(UnsupportedOperationException.class, () -> dependencies.add(dependency));
+        }
+
+        @Test
+        void should_retrieve_contributions_with_qualifier() {
+            config.contributeInstance(Dependency.class, dependency, new SkywalkerLiteral());
+            Context context = config.getContext();
+
+            assertEquals(List.of(dependency), context.get(new ComponentRef<List<Dependency>>(new SkywalkerLiteral()) {
+            }).get());
+            assertTrue(context.get(new ComponentRef<List<Dependency>>() {
+            }).isEmpty());
+        }
+
+        @Test
+        void should_throw_exception_if_duplicated_key_contributed() {
+            config.contributeInstance(Dependency.class, "a", dependency);
+            assertThrows(ContextConfig.ContextConfigException.class, () -> config.contribute(Dependency.class, "a", DependencyA.class));
+        }
+
+        @Test
+        void should_throw_exception_if_no_contribution_found() {
+            config.contributeInstance(Dependency.class, "a", dependency);
+            config.component(TestComponent.class, ListInjection.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        @Test
+        void should_throw_exception_if_contribution_depends_on_collection_owner() {
+            config.component(TestComponent.class, ListInjection.class);
+            config.contribute(Dependency.class, DependencyCheckTest.CyclicDependencyInjectField.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        static class ListContribution implements Dependency {
+            @Inject
+            List<Dependency> dependencies;
+        }
+
+        @Test
+        void should_throw_exception_if_contribution_depends_on_its_collection() {
+            config.contribute(Dependency.class, ListContribution.class);
+            config.component(TestComponent.class, ListInjection.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        static class UnsatisfiedContribution implements Dependency {
+            @Inject
+            AnotherDependency dependency;
+        }
+
+        @Test
+        void should_check_cyclic_contribution_added_after_context_created() {
+            config.contributeInstance(Dependency.class, dependency);
+            config.component(TestComponent.class, ListInjection.class);
+            config.getContext();
+
+            config.contribute(Dependency.class, DependencyCheckTest.CyclicDependencyInjectField.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        @Test
+        void should_check_unsatisfied_contribution_added_after_context_created() {
+            config.contributeInstance(Dependency.class, dependency);
+            config.component(TestComponent.class, ListInjection.class);
+            config.getContext();
+
+            config.contribute(Dependency.class, UnsatisfiedContribution.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        @Test
+        void should_check_contributions_when_collection_resolved_lazily() {
+            config.contribute(Dependency.class, UnsatisfiedContribution.class);
+            Context context = config.getContext(ComponentRef.of(TestComponent.class));
+
+            assertThrows(ContextConfig.ContextConfigError.class, () -> context.get(new ComponentRef<Set<Dependency>>() {
+            }));
+        }
+
+        @Test
+        void should_check_contributions_when_injecting_collection_member_lazily() {
+            config.contribute(Dependency.class, UnsatisfiedContribution.class);
+            Context context = config.getContext(ComponentRef.of(TestComponent.class));
+
+            assertThrows(ContextConfig.ContextConfigError.class, () -> context.injectMembers(new SetInjection()));
+        }
+    }
+
+    @Nested
+    class AsyncInitialization {
+        static CountDownLatch started;
+
+        @BeforeEach
+        void before() {
+            started = new CountDownLatch(2);
+        }
+
+        @AsyncInit
+        @Singleton
+        static class SlowDependency implements Dependency {
+            final Thread thread = Thread.currentThread();
+            final boolean parallel;
+
+            SlowDependency() throws InterruptedException {
+                started.countDown();
+                parallel = started.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        @AsyncInit
+        @Singleton
+        static class SlowAnotherDependency implements AnotherDependency {
+            final boolean parallel;
+
+            SlowAnotherDependency() throws InterruptedException {
+                started.countDown();
+                parallel = started.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        @AsyncInit
+        @Singleton
+        static class AsyncComponent implements TestComponent {
+            final Dependency dependency;
+
+            @Inject
+            AsyncComponent(Dependency dependency) {
+                this.dependency = dependency;
+            }
+
+            @Override
+            public Dependency dependency() {
+                return dependency;
+            }
+        }
+
+        @AsyncInit
+        static class UnscopedAsyncComponent implements TestComponent {
+        }
+
+        @Test
+        void should_initialize_independent_components_in_parallel() throws Exception {
+            config.component(Dependency.class, SlowDependency.class);
+            config.component(AnotherDependency.class, SlowAnotherDependency.class);
+
+            Context context = config.getContextAsync().get(10, TimeUnit.SECONDS);
+
+            SlowDependency dependency = (SlowDependency) context.get(ComponentRef.of(Dependency.class)).get();
+            SlowAnotherDependency another = (SlowAnotherDependency) context.get(ComponentRef.of(AnotherDependency.class)).get();
+            assertTrue(dependency.parallel);
+            assertTrue(another.parallel);
+            assertNotSame(Thread.currentThread(), dependency.thread);
+        }
+
+        @Test
+        void should_initialize_component_after_its_async_dependencies() throws Exception {
+            Dependency dependency = new Dependency() {
+            };
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, AsyncComponent.class);
+
+            Context context = config.getContextAsync(Executors.newSingleThreadExecutor()).get(10, TimeUnit.SECONDS);
+
+            assertSame(dependency, context.get(ComponentRef.of(TestComponent.class)).get().dependency());
+        }
+
+        @Test
+        void should_complete_exceptionally_if_initialization_failed() {
+            config.component(TestComponent.class, AsyncComponent.class);
+            config.component(Dependency.class, FailedDependency.class, new SingletonLiteral());
+
+            assertThrows(ExecutionException.class, () -> config.getContextAsync().get(10, TimeUnit.SECONDS));
+        }
+
+        static class FailedDependency implements Dependency {
+            FailedDependency() {
+                throw new IllegalStateException();
+            }
+        }
+
+        @Test
+        void should_throw_exception_if_async_component_not_scoped() {
+            assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(TestComponent.class, UnscopedAsyncComponent.class));
+        }
+    }
+
+    @Nested
+    class LazyInitialization {
+        static int created;
+
+        @BeforeEach
+        void before() {
+            created = 0;
+        }
+
+        @LazyInit
+        @Singleton
+        static class HeavyComponent implements TestComponent {
+            final Dependency dependency;
+
+            @Inject
+            HeavyComponent(Dependency dependency) {
+                this.dependency = dependency;
+                created++;
+            }
+
+            @Override
+            public Dependency dependency() {
+                return dependency;
+            }
+        }
+
+        @LazyInit
+        static class LazyPrototype implements TestComponent {
+            LazyPrototype() {
+                created++;
+            }
+
+            @Override
+            public Dependency dependency() {
+                throw new IllegalStateException();
+            }
+        }
+
+        static class Dependent implements AnotherDependency {
+            @Inject
+            TestComponent component;
+        }
+
+        @Test
+        void should_not_construct_lazy_component_until_first_call() {
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, HeavyComponent.class);
+            config.component(AnotherDependency.class, Dependent.class);
+            Context context = config.getContext();
+
+            Dependent dependent = (Dependent) context.get(ComponentRef.of(AnotherDependency.class)).get();
+            assertEquals(0, created);
+            assertSame(dependency, dependent.component.dependency());
+            assertEquals(1, created);
+        }
+
+        @Test
+        void should_share_proxy_and_instance_of_singleton() {
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, HeavyComponent.class);
+            Context context = config.getContext();
+
+            TestComponent component = context.get(ComponentRef.of(TestComponent.class)).get();
+            assertSame(component, context.get(ComponentRef.of(TestComponent.class)).get());
+            component.dependency();
+            context.get(ComponentRef.of(TestComponent.class)).get().dependency();
+            assertEquals(1, created);
+        }
+
+        static class SetDependent {
+            @Inject
+            Set<TestComponent> components;
+        }
+
+        @Test
+        void should_not_construct_lazy_contribution_collected_into_set() {
+            config.instance(Dependency.class, dependency);
+            config.contribute(TestComponent.class, HeavyComponent.class);
+            config.component(SetDependent.class, SetDependent.class);
+            Context context = config.getContext();
+
+            TestComponent component = context.get(ComponentRef.of(SetDependent.class)).get().components.iterator().next();
+            assertEquals(0, created);
+            assertEquals(component, component);
+            assertEquals(0, created);
+            assertSame(dependency, component.dependency());
+            assertEquals(1, created);
+        }
+
+        @LazyInit
+        @Pooled(max = 1)
+        static class LazyPooled implements TestComponent {
+            LazyPooled() {
+                created++;
+            }
+        }
+
+        @Test
+        void should_release_target_of_lazy_pooled_component() {
+            config.component(TestComponent.class, LazyPooled.class);
+            Context context = config.getContext();
+            ComponentRef<TestComponent> ref = ComponentRef.of(TestComponent.class);
+
+            TestComponent component = context.get(ref).get();
+            component.dependency();
+            context.release(ref, component);
+            context.get(ref).get().dependency();
+
+            assertEquals(1, created);
+        }
+
+        @Test
+        void should_rethrow_exception_from_target() {
+            config.component(TestComponent.class, LazyPrototype.class);
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+            assertThrows(IllegalStateException.class, component::dependency);
+        }
+
+        @Test
+        void should_check_dependencies_of_lazy_component() {
+            config.component(TestComponent.class, HeavyComponent.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        @Test
+        void should_throw_exception_if_lazy_component_not_bound_to_interface() {
+            assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(HeavyComponent.class, HeavyComponent.class));
+        }
+    }
+
+    @Nested
+    class DeepDependencies {
+        private static final int DEPTH = 3000;
+
+        private List<Class<Object>> chain() throws Exception {
+            return chain(i -> false);
+        }
+
+        private List<Class<Object>> chain(IntPredicate async) throws Exception {
+            Path output = Files.createTempDirectory("chain");
+            StringBuilder code = new StringBuilder("package deep;\nimport jakarta.inject.Inject;\npublic class Chain {\n");
+            for (int i = 0; i < DEPTH; i++) {
+                if (async.test(i)) code.append("@com.tdd.di.AsyncInit @jakarta.inject.Singleton ");
+                code.append("public static class C").append(i).append(" { @Inject public C").append(i)
+                        .append(i == 0 ? "() {} }\n" : "(C" + (i - 1) + " next) {} }\n");
+            }
+            code.append("}\n");
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+                files.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+                JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///deep/Chain.java"), JavaFileObject.Kind.SOURCE) {
+                    @Override
+                    public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                        return code;
+                    }
+                };
+                assertTrue(compiler.getTask(null, files, null, List.of("-proc:none", "-classpath", System.getProperty("java.class.path")), null, List.of(source)).call());
+            }
+            ClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+            List<Class<Object>> chain = new ArrayList<>();
+            for (int i = 0; i < DEPTH; i++) chain.add((Class<Object>) loader.loadClass("deep.Chain$C" + i));
+            return chain;
+        }
+
+        private void onSmallStack(Executable executable) throws Throwable {
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread thread = new Thread(null, () -> {
+                try {
+                    executable.execute();
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }, "small-stack", 256 * 1024);
+            thread.start();
+            thread.join();
+            if (failure.get() != null) throw failure.get();
+        }
+
+        @Test
+        void should_validate_and_construct_deep_dependency_chain_on_small_stack() throws Throwable {
+            List<Class<Object>> chain = chain();
+            chain.forEach(type -> config.component(type, type));
+            Class<Object> top = chain.get(DEPTH - 1);
+
+            onSmallStack(() -> assertTrue(config.getContext().get(ComponentRef.of(top)).isPresent()));
+        }
+
+        @Test
+        void should_construct_deep_singleton_chain_on_small_stack() throws Throwable {
+            List<Class<Object>> chain = chain();
+            chain.forEach(type -> config.component(type, type, new SingletonLiteral()));
+            Class<Object> top = chain.get(DEPTH - 1);
+
+            onSmallStack(() -> {
+                Context context = config.getContext(ComponentRef.of(top));
+                assertSame(context.get(ComponentRef.of(top)).get(), context.get(ComponentRef.of(top)).get());
+            });
+        }
+
+        @Test
+        void should_initialize_deep_asynchronous_chain_on_small_stack() throws Throwable {
+            List<Class<Object>> chain = chain(i -> true);
+            chain.forEach(type -> config.component(type, type));
+            Class<Object> top = chain.get(DEPTH - 1);
+
+            onSmallStack(() -> assertTrue(config.getContextAsync().get(30, TimeUnit.SECONDS).get(ComponentRef.of(top)).isPresent()));
+        }
+
+        @Test
+        void should_find_asynchronous_dependency_through_deep_chain_on_small_stack() throws Throwable {
+            List<Class<Object>> chain = chain(i -> i == 0 || i == DEPTH - 1);
+            chain.forEach(type -> config.component(type, type));
+            Class<Object> top = chain.get(DEPTH - 1);
+
+            onSmallStack(() -> assertTrue(config.getContextAsync().get(30, TimeUnit.SECONDS).get(ComponentRef.of(top)).isPresent()));
+        }
+
+        static class Counted {
+            static final AtomicInteger constructed = new AtomicInteger();
+
+            Counted() {
+                constructed.incrementAndGet();
+            }
+        }
+
+        static class StaticAndInstance {
+            @Inject
+            static Counted shared;
+            @Inject
+            Counted counted;
+        }
+
+        @Test
+        void should_not_prepare_static_member_dependencies_per_construction() {
+            config.component(Counted.class, Counted.class);
+            config.component(StaticAndInstance.class, StaticAndInstance.class);
+            Context context = config.getContext();
+
+            Counted.constructed.set(0);
+            context.get(ComponentRef.of(StaticAndInstance.class)).get();
+            assertEquals(1, Counted.constructed.get());
+        }
+    }
+
+    @Nested
+    class GraphExport {
+        static class Root implements TestComponent {
+            @Inject
+            Root(Dependency dependency, Provider<AnotherDependency> another) {
+            }
+        }
+
+        @Singleton
+        static class SlowDependency implements Dependency {
+            @Inject
+            SlowDependency() throws InterruptedException {
+                Thread.sleep(20);
+            }
+        }
+
+        private final Component root = new Component(TestComponent.class, null);
+        private final Component dependency = new Component(Dependency.class, null);
+        private final Component another = new Component(AnotherDependency.class, null);
+
+        @BeforeEach
+        void before() {
+            config.measureConstructions();
+            config.component(TestComponent.class, Root.class);
+            config.component(Dependency.class, SlowDependency.class);
+            config.instance(AnotherDependency.class, new AnotherDependency() {
+            });
+        }
+
+        private DependencyGraph.Node node(DependencyGraph graph, Component component) {
+            return graph.nodes().stream().filter(n -> n.component().equals(component)).findFirst().get();
+        }
+
+        @Test
+        void should_export_components_and_dependencies() {
+            DependencyGraph graph = config.graph();
+
+            assertEquals(List.of(another, dependency, root), graph.nodes().stream().map(DependencyGraph.Node::component).toList());
+            assertEquals(List.of(new DependencyGraph.Edge(root, dependency, null), new DependencyGraph.Edge(root, another, Provider.class)), graph.edges());
+            assertEquals(Singleton.class, node(graph, dependency).scope());
+        }
+
+        @Test
+        void should_count_fan_in_fan_out_and_depth() {
+            DependencyGraph graph = config.graph();
+
+            DependencyGraph.Node root = node(graph, this.root);
+            assertEquals(0, root.fanIn());
+            assertEquals(2, root.fanOut());
+            assertEquals(1, root.depth());
+            DependencyGraph.Node another = node(graph, this.another);
+            assertEquals(1, another.fanIn());
+            assertEquals(0, another.depth());
+        }
+
+        @Test
+        void should_find_critical_path_by_measured_construction_time() {
+            config.getContext().get(ComponentRef.of(TestComponent.class));
+            DependencyGraph graph = config.graph();
+
+            assertEquals(List.of(root, dependency), graph.criticalPath());
+            long slow = node(graph, dependency).nanos();
+            assertTrue(slow >= TimeUnit.MILLISECONDS.toNanos(20));
+            assertTrue(node(graph, root).nanos() < slow);
+            assertEquals(node(graph, root).nanos() + slow, graph.criticalPathNanos());
+        }
+
+        @Test
+        void should_keep_first_construction_time_of_prototype() {
+            Context context = config.getContext();
+            context.get(ComponentRef.of(TestComponent.class));
+            long first = node(config.graph(), root).nanos();
+            for (int i = 0; i < 100; i++) context.get(ComponentRef.of(TestComponent.class));
+
+            assertEquals(first, node(config.graph(), root).nanos());
+        }
+
+        @Test
+        void should_not_measure_construction_time_unless_enabled() {
+            ContextConfig config = new ContextConfig();
+            config.component(Dependency.class, SlowDependency.class);
+            config.getContext().get(ComponentRef.of(Dependency.class));
+
+            assertEquals(0, config.graph().nodes().get(0).nanos());
+        }
+
+        @Test
+        void should_export_graph_as_dot() {
+            String dot = config.graph().toDot();
+
+            assertTrue(dot.startsWith("digraph components {"));
+            assertTrue(dot.contains("n1 [label=\"com.tdd.di.Dependency\\n@Singleton\\n"));
+            assertTrue(dot.contains("n2 -> n0 [label=\"Provider\", style=dashed];"));
+        }
+
+        @Test
+        void should_export_graph_as_json() {
+            config.getContext().get(ComponentRef.of(TestComponent.class));
+            String json = config.graph().toJson();
+
+            assertTrue(json.contains("{\"id\":1,\"type\":\"com.tdd.di.Dependency\",\"qualifier\":null,\"scope\":\"jakarta.inject.Singleton\","));
+            assertTrue(json.contains("{\"from\":2,\"to\":1,\"container\":null}"));
+            assertTrue(json.contains("\"criticalPath\":[2,1]"));
+        }
+    }
+
+    @Nested
+    class BulkRegistration {
+        abstract static class AbstractComponent implements TestComponent {
+        }
+
+        @Test
+        void should_bind_all_components_and_instances() {
+            config.bindAll(List.of(
+                    Binding.instance(Dependency.class, dependency),
+                    Binding.component(TestComponent.class, TypeBindingTest.ConstructionInjection.class, new SingletonLiteral()),
+                    Binding.instance(TestComponent.class, instance, new SkywalkerLiteral())));
+            Context context = config.getContext();
+
+            TestComponent component = context.get(ComponentRef.of(TestComponent.class)).get();
+            assertSame(dependency, component.dependency());
+            assertSame(component, context.get(ComponentRef.of(TestComponent.class)).get());
+            assertSame(instance, context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())).get());
+        }
+
+        @Test
+        void should_report_duplicated_components_within_batch() {
+            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, () -> config.bindAll(List.of(
+                    Binding.instance(TestComponent.class, instance),
+                    Binding.component(TestComponent.class, TypeBindingTest.ConstructionInjection.class))));
+
+            assertEquals("Invalid bindings: Duplicated: Component[type=interface com.tdd.di.TestComponent, qualifier=null]", exception.getMessage());
+        }
+
+        @Test
+        void should_report_duplicated_components_already_bound() {
+            config.instance(TestComponent.class, instance);
+
+            assertThrows(ContextConfig.ContextConfigException.class, () -> config.bindAll(List.of(Binding.instance(TestComponent.class, instance))));
+        }
+
+        @Test
+        void should_report_all_errors_together_and_bind_nothing() {
+            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, () -> config.bindAll(List.of(
+                    Binding.instance(Dependency.class, dependency),
+                    Binding.component(TestComponent.class, AbstractComponent.class),
+                    Binding.component(TestComponent.class, WithScope.NotSingleton.class, new RecycledLiteral()),
+                    Binding.instance(Dependency.class, dependency))));
+
+            assertEquals(3, exception.getSuppressed().length);
+            assertInstanceOf(InjectionProvider.ComponentError.class, exception.getSuppressed()[0]);
+            assertEquals("Unknown scope: interface com.tdd.di.Recycled", exception.getSuppressed()[1].getMessage());
+            assertEquals("Duplicated: Component[type=interface com.tdd.di.Dependency, qualifier=null]", exception.getSuppressed()[2].getMessage());
+            assertTrue(config.getContext().get(ComponentRef.of(Dependency.class)).isEmpty());
+        }
+    }
+
+    @Nested
+    class ConcurrentRegistration {
+        @Test
+        void should_register_components_from_multiple_threads() throws Exception {
+            inParallel(() -> Executors.newFixedThreadPool(8), 200, i -> {
+                config.component(TestComponent.class, WithScope.NotSingleton.class, new NamedLiteral("component" + i));
+                config.instance(Dependency.class, dependency, new NamedLiteral("dependency" + i));
+                return i;
+            });
+
+            Context context = config.getContext();
+            for (int i = 0; i < 200; i++) {
+                assertTrue(context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("component" + i))).isPresent());
+                assertSame(dependency, context.get(ComponentRef.of(Dependency.class, new NamedLiteral("dependency" + i))).get());
+            }
+        }
+
+        @Test
+        void should_accept_only_one_of_concurrent_duplicated_bindings() throws Exception {
+            List<Boolean> bound = inParallel(() -> Executors.newFixedThreadPool(8), 50, i -> {
+                try {
+                    config.instance(TestComponent.class, instance, new SkywalkerLiteral());
+                    return true;
+                } catch (ContextConfig.ContextConfigException e) {
+                    return false;
+                }
+            });
+
+            assertEquals(1, bound.stream().filter(b -> b).count());
+        }
+
+        @Test
+        void should_publish_all_or_none_of_a_batch_to_concurrent_context() throws Exception {
+            int batches = 30;
+            int size = 200;
+            List<Integer> torn = inParallel(() -> Executors.newFixedThreadPool(2), 2, task -> {
+                if (task == 0) {
+                    for (int batch = 0; batch < batches; batch++) {
+                        int current = batch;
+                        config.bindAll(IntStream.range(0, size).mapToObj(i -> Binding.instance(Dependency.class, dependency, new NamedLiteral(current + "-" + i))).toList());
+                    }
+                    return 0;
+                }
+                int partial = 0;
+                for (int i = 0; i < batches * 10; i++)
+                    if (config.getContext().getAllQualified(Dependency.class).size() % size != 0) partial++;
+                return partial;
+            });
+
+            assertEquals(List.of(0, 0), torn);
+        }
+
+        @Test
+        void should_not_see_components_registered_after_context_created() {
+            config.instance(Dependency.class, dependency);
+            Context context = config.getContext();
+            config.instance(TestComponent.class, instance);
+
+            assertTrue(context.get(ComponentRef.of(TestComponent.class)).isEmpty());
+            assertSame(instance, config.getContext().get(ComponentRef.of(TestComponent.class)).get());
+        }
+
+        @Test
+        void should_not_see_contributions_added_after_context_created() {
+            config.contributeInstance(Dependency.class, dependency);
+            Context context = config.getContext();
+            config.contributeInstance(Dependency.class, new Dependency() {
+            });
+
+            ComponentRef<List<Dependency>> ref = new ComponentRef<>() {
+            };
+            assertEquals(List.of(dependency), context.get(ref).get());
+            assertEquals(2, config.getContext().get(ref).get().size());
+        }
+    }
+
+    @Nested
+    class MemberInjection {
+        static class ExternallyCreated {
+            @Inject
+            Dependency dependency;
+            TestComponent component;
+            final String name;
+
+            ExternallyCreated(String name) {
+                this.name = name;
+            }
+
+            @Inject
+            void install(@Skywalker TestComponent component) {
+                this.component = component;
+            }
+        }
+
+        @Test
+        void should_inject_members_into_externally_created_instance() {
+            config.instance(Dependency.class, dependency);
+            config.instance(TestComponent.class, instance, new SkywalkerLiteral());
+            Context context = config.getContext();
+
+            ExternallyCreated created = new ExternallyCreated("created");
+            assertSame(created, context.injectMembers(created));
+            assertSame(dependency, created.dependency);
+            assertSame(instance, created.component);
+        }
+
+        @Test
+        void should_reuse_member_injection_plan_for_same_class() {
+            config.instance(Dependency.class, dependency);
+            config.instance(TestComponent.class, instance, new SkywalkerLiteral());
+            Context context = config.getContext();
+
+            List<ExternallyCreated> created = IntStream.range(0, 100).mapToObj(i -> context.injectMembers(new ExternallyCreated("created" + i))).toList();
+            assertTrue(created.stream().allMatch(c -> c.dependency == dependency && c.component == instance));
+        }
+
+        @Test
+        void should_throw_exception_if_member_dependency_not_found() {
+            config.instance(Dependency.class, dependency);
+            Context context = config.getContext();
+
+            ContextConfig.ContextConfigError error = assertThrows(ContextConfig.ContextConfigError.class, () -> context.injectMembers(new ExternallyCreated("created")));
+            assertEquals("Unsatisfied resolution: Component[type=interface com.tdd.di.TestComponent, qualifier=@com.tdd.di.Skywalker()] for Component[type=class com.tdd.di.ContextTest$MemberInjection$ExternallyCreated, qualifier=null] ",
+                    error.getMessage());
+        }
+
+        @Test
+        void should_check_member_dependencies_in_lazily_checked_context() {
+            config.component(Dependency.class, DependencyCheckTest.IndirectCyclicDependencyInjectField.class);
+            config.instance(TestComponent.class, instance, new SkywalkerLiteral());
+            Context context = config.getContext(ComponentRef.of(TestComponent.class, new SkywalkerLiteral()));
+
+            assertThrows(ContextConfig.ContextConfigError.class, () -> context.injectMembers(new ExternallyCreated("created")));
+        }
+    }
+
+    @Nested
+    class AssistedInjection {
+        static class Payment {
+            final Dependency dependency;
+            final String id;
+            final int amount;
+            @Inject
+            Provider<TestComponent> component;
+
+            @Inject
+            Payment(Dependency dependency, @Assisted String id, @Assisted int amount) {
+                this.dependency = dependency;
+                this.id = id;
+                this.amount = amount;
+            }
+        }
+
+        interface PaymentFactory {
+            Payment create(String id, int amount);
+
+            default Payment free(String id) {
+                return create(id, 0);
+            }
+        }
+
+        interface UnmatchedFactory {
+            Payment create(int amount, String id);
+        }
+
+        @Test
+        void should_create_component_with_container_dependencies_and_call_arguments() {
+            config.instance(Dependency.class, dependency);
+            config.instance(TestComponent.class, instance);
+            config.factory(PaymentFactory.class, Payment.class);
+
+            PaymentFactory factory = config.getContext().get(ComponentRef.of(PaymentFactory.class)).get();
+            Payment payment = factory.create("payment", 100);
+
+            assertSame(dependency, payment.dependency);
+            assertEquals("payment", payment.id);
+            assertEquals(100, payment.amount);
+            assertSame(instance, payment.component.get());
+            assertNotSame(payment, factory.create("payment", 100));
+        }
+
+        @Test
+        void should_call_default_method_of_factory() {
+            config.instance(Dependency.class, dependency);
+            config.instance(TestComponent.class, instance);
+            config.factory(PaymentFactory.class, Payment.class);
+
+            Payment payment = config.getContext().get(ComponentRef.of(PaymentFactory.class)).get().free("free");
+            assertEquals(0, payment.amount);
+        }
+
+        @Test
+        void should_bind_factory_with_qualifier() {
+            config.instance(Dependency.class, dependency);
+            config.instance(TestComponent.class, instance);
+            config.factory(PaymentFactory.class, Payment.class, new SkywalkerLiteral());
+
+            Context context = config.getContext();
+            PaymentFactory factory = context.get(ComponentRef.of(PaymentFactory.class, new SkywalkerLiteral())).get();
+            assertSame(factory, context.get(ComponentRef.of(PaymentFactory.class, new SkywalkerLiteral())).get());
+            assertEquals("payment", factory.create("payment", 1).id);
+        }
+
+        @Test
+        void should_throw_exception_if_factory_parameters_not_match_assisted_parameters() {
+            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, () -> config.factory(UnmatchedFactory.class, Payment.class));
+            assertEquals("Unmatched assisted factory: interface com.tdd.di.ContextTest$AssistedInjection$UnmatchedFactory for class com.tdd.di.ContextTest$AssistedInjection$Payment",
+                    exception.getMessage());
+        }
+
+        @Test
+        void should_throw_exception_if_container_dependency_not_found() {
+            config.instance(TestComponent.class, instance);
+            config.factory(PaymentFactory.class, Payment.class);
+
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        static class CyclicPayment implements Dependency {
+            @Inject
+            CyclicPayment(PaymentFactory factory) {
+            }
+        }
+
+        @Test
+        void should_not_treat_dependencies_created_on_call_as_circular() {
+            config.component(Dependency.class, CyclicPayment.class);
+            config.instance(TestComponent.class, instance);
+            config.factory(PaymentFactory.class, Payment.class);
+
+            assertTrue(config.getContext().get(ComponentRef.of(Dependency.class)).isPresent());
+        }
+    }
+
+    @Nested
+    class Interception {
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface Traced {
+        }
+
+        interface Service {
+            String call(String argument);
+
+            String other();
+        }
+
+        static class TracedService implements Service {
+            final Dependency dependency;
+
+            @Inject
+            TracedService(Dependency dependency) {
+                this.dependency = dependency;
+            }
+
+            @Traced
+            @Override
+            public String call(String argument) {
+                return "called " + argument;
+            }
+
+            @Override
+            public String other() {
+                return "other";
+            }
+        }
+
+        @Traced
+        static class TracedClass {
+        }
+
+        private final List<String> traces = new ArrayList<>();
+
+        private Interceptor trace(String name) {
+            return (target, method, arguments, next) -> {
+                traces.add(name + " " + method.getName());
+                return next.proceed(target, arguments);
+            };
+        }
+
+        @Test
+        void should_intercept_annotated_methods_in_registration_order() {
+            config.intercept(Traced.class, trace("outer"));
+            config.intercept(Traced.class, trace("inner"));
+            config.instance(Dependency.class, dependency);
+            config.component(Service.class, TracedService.class);
+
+            Service service = config.getContext().get(ComponentRef.of(Service.class)).get();
+
+            assertEquals("called argument", service.call("argument"));
+            assertEquals("other", service.other());
+            assertEquals(List.of("outer call", "inner call"), traces);
+        }
+
+        @Test
+        void should_let_interceptor_change_arguments_and_result() {
+            config.intercept(Traced.class, (target, method, arguments, next) -> next.proceed(target, new Object[]{"changed"}) + "!");
+            config.instance(Dependency.class, dependency);
+            config.component(Service.class, TracedService.class);
+
+            assertEquals("called changed!", config.getContext().get(ComponentRef.of(Service.class)).get().call("argument"));
+        }
+
+        @Test
+        void should_keep_injection_and_scope_of_intercepted_component() {
+            config.intercept(Traced.class, trace("trace"));
+            config.instance(Dependency.class, dependency);
+            config.component(Service.class, TracedService.class, new SingletonLiteral());
+            Context context = config.getContext();
+
+            Service service = context.get(ComponentRef.of(Service.class)).get();
+            assertSame(service, context.get(ComponentRef.of(Service.class)).get());
+            assertEquals(service, service);
+            assertTrue(service.toString().contains("TracedService"));
+        }
+
+        @Test
+        void should_not_intercept_component_without_bound_annotation() {
+            config.intercept(Traced.class, trace("trace"));
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, TypeBindingTest.ConstructionInjection.class);
+
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+            assertSame(dependency, component.dependency());
+            assertFalse(Proxy.isProxyClass(component.getClass()));
+        }
+
+        @Test
+        void should_throw_exception_if_interceptor_registered_after_matching_binding() {
+            config.instance(Dependency.class, dependency);
+            config.component(Service.class, TracedService.class);
+
+            assertThrows(ContextConfig.ContextConfigException.class, () -> config.intercept(Traced.class, trace("trace")));
+            assertFalse(Proxy.isProxyClass(config.getContext().get(ComponentRef.of(Service.class)).get().getClass()));
+        }
+
+        @Test
+        void should_accept_interceptor_registered_after_unmatched_binding() {
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, TypeBindingTest.ConstructionInjection.class);
+            config.intercept(Traced.class, trace("trace"));
+            config.component(Service.class, TracedService.class);
+
+            config.getContext().get(ComponentRef.of(Service.class)).get().call("argument");
+            assertEquals(List.of("trace call"), traces);
+        }
+
+        @Test
+        void should_throw_exception_if_intercepted_component_not_bound_to_interface() {
+            config.intercept(Traced.class, trace("trace"));
+
+            assertThrows(ContextConfig.ContextConfigException.class, () -> config.component(TracedClass.class, TracedClass.class));
+        }
+    }
+
+    @Nested
+    class Lifecycle {
+        static class Closed {
+            final Queue<String> names = new ConcurrentLinkedQueue<>();
+        }
+
+        @Singleton
+        static class Repository implements AutoCloseable {
+            final Closed closed;
+
+            @Inject
+            Repository(Closed closed) {
+                this.closed = closed;
+            }
+
+            @Override
+            public void close() {
+                closed.names.add("repository");
+            }
+        }
+
+        @Singleton
+        static class Service implements AutoCloseable {
+            final Closed closed;
+
+            @Inject
+            Service(Repository repository, Closed closed) {
+                this.closed = closed;
+            }
+
+            @Override
+            public void close() {
+                closed.names.add("service");
+            }
+        }
+
+        @Singleton
+        static class Destroyed {
+            final Closed closed;
+
+            @Inject
+            Destroyed(Closed closed) {
+                this.closed = closed;
+            }
+
+            @PreDestroy
+            void destroy() {
+                closed.names.add("destroyed");
+            }
+        }
+
+        @Singleton
+        static class Blocking implements AutoCloseable {
+            final CountDownLatch latch;
+
+            @Inject
+            Blocking(CountDownLatch latch) {
+                this.latch = latch;
+            }
+
+            @Override
+            public void close() throws InterruptedException {
+                latch.await();
+            }
+        }
+
+        private final Closed closed = new Closed();
+
+        @BeforeEach
+        void setUp() {
+            config.instance(Closed.class, closed);
+        }
+
+        @Test
+        void should_close_dependents_before_their_dependencies() {
+            config.component(Repository.class, Repository.class);
+            config.component(Service.class, Service.class);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(Service.class)).get();
+
+            context.close();
+
+            assertEquals(List.of("service", "repository"), List.copyOf(closed.names));
+        }
+
+        @Test
+        void should_call_pre_destroy_methods() {
+            config.component(Destroyed.class, Destroyed.class);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(Destroyed.class)).get();
+
+            context.close();
+
+            assertEquals(List.of("destroyed"), List.copyOf(closed.names));
+        }
+
+        @Test
+        void should_not_close_components_never_created() {
+            config.component(Repository.class, Repository.class);
+
+            config.getContext().close();
+
+            assertTrue(closed.names.isEmpty());
+        }
+
+        @Test
+        void should_not_close_bound_instances() {
+            AtomicBoolean instanceClosed = new AtomicBoolean();
+            config.instance(AutoCloseable.class, () -> instanceClosed.set(true));
+
+            config.getContext().close();
+
+            assertFalse(instanceClosed.get());
+        }
+
+        @Test
+        void should_create_new_singleton_in_context_created_after_close() {
+            config.component(Repository.class, Repository.class);
+            Context context = config.getContext();
+            Repository before = context.get(ComponentRef.of(Repository.class)).get();
+
+            context.close();
+
+            assertNotSame(before, config.getContext().get(ComponentRef.of(Repository.class)).get());
+        }
+
+        @Test
+        void should_throw_exception_if_closed_context_used() {
+            config.component(Repository.class, Repository.class);
+            Context context = config.getContext();
+            ComponentRef<Repository> ref = ComponentRef.of(Repository.class);
+            Context.Batch batch = context.batch(ref);
+
+            context.close();
+
+            assertThrows(ContextConfig.ContextConfigException.class, () -> context.get(ref));
+            assertThrows(ContextConfig.ContextConfigException.class, () -> context.getAll(ref));
+            assertThrows(ContextConfig.ContextConfigException.class, () -> context.batch(ref));
+            assertThrows(ContextConfig.ContextConfigException.class, batch::get);
+        }
+
+        @Test
+        void should_close_every_context_created_by_config() {
+            config.component(Repository.class, Repository.class);
+            Context context = config.getContext();
+            Context other = config.getContext();
+            other.get(ComponentRef.of(Repository.class)).get();
+
+            context.close();
+
+            assertEquals(List.of("repository"), List.copyOf(closed.names));
+            assertThrows(ContextConfig.ContextConfigException.class, () -> other.get(ComponentRef.of(Repository.class)));
+            assertDoesNotThrow(other::close);
+        }
+
+        @Test
+        void should_close_components_bound_after_context_created() {
+            Context context = config.getContext();
+            config.component(Repository.class, Repository.class);
+            config.getContext().get(ComponentRef.of(Repository.class)).get();
+
+            context.close();
+
+            assertEquals(List.of("repository"), List.copyOf(closed.names));
+        }
+
+        @Test
+        void should_report_timed_out_component_and_close_the_rest() {
+            CountDownLatch latch = new CountDownLatch(1);
+            config.instance(CountDownLatch.class, latch);
+            config.component(Blocking.class, Blocking.class);
+            config.component(Repository.class, Repository.class);
+            config.closeTimeout(Duration.ofMillis(100));
+            Context context = config.getContext();
+            context.get(ComponentRef.of(Blocking.class)).get();
+            context.get(ComponentRef.of(Repository.class)).get();
+
+            try {
+                ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, context::close);
+
+                assertEquals("Close failed: Close timed out: " + new Component(Blocking.class, null), exception.getMessage());
+                assertEquals(List.of("repository"), List.copyOf(closed.names));
+            } finally {
+                latch.countDown();
+            }
+        }
+
+        @Test
+        void should_aggregate_close_failures() {
+            config.component(Repository.class, Repository.class);
+            config.component(AutoCloseable.class, Failing.class);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(AutoCloseable.class)).get();
+            context.get(ComponentRef.of(Repository.class)).get();
+
+            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, context::close);
+
+            assertEquals("Close failed: failed", exception.getMessage());
+            assertEquals(1, exception.getSuppressed().length);
+            assertEquals(List.of("repository"), List.copyOf(closed.names));
+        }
+
+        @Singleton
+        static class Failing implements AutoCloseable {
+            @Inject
+            Failing() {
+            }
+
+            @Override
+            public void close() {
+                throw new IllegalStateException("failed");
+            }
+        }
+
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface Audited {
+        }
+
+        interface Audit {
+            void record();
+        }
+
+        @Singleton
+        @Audited
+        static class DestroyedAudit implements Audit {
+            final Closed closed;
+
+            @Inject
+            DestroyedAudit(Closed closed) {
+                this.closed = closed;
+            }
+
+            @Override
+            public void record() {
+            }
+
+            @PreDestroy
+            void destroy() {
+                closed.names.add("audit");
+            }
+        }
+
+        @Test
+        void should_call_pre_destroy_methods_of_intercepted_singleton() {
+            config.intercept(Audited.class, (target, method, arguments, next) -> next.proceed(target, arguments));
+            config.component(Audit.class, DestroyedAudit.class);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(Audit.class)).get().record();
+
+            context.close();
+
+            assertEquals(List.of("audit"), List.copyOf(closed.names));
+        }
+    }
+
+    @Nested
+    class Registry {
+        @Test
+        void should_find_every_registered_component() {
+            Map<Component, Integer> components = new HashMap<>();
+            for (int i = 0; i < 1000; i++) components.put(new Component(TestComponent.class, new NamedLiteral("component-" + i)), i);
+
+            ComponentRegistry<Integer> registry = ComponentRegistry.of(components);
+
+            assertEquals(components, registry);
+            components.forEach((component, value) -> assertEquals(value, registry.get(ComponentRef.of(TestComponent.class, component.qualifier()))));
+        }
+
+        @Test
+        void should_not_find_unregistered_component() {
+            ComponentRegistry<Integer> registry = ComponentRegistry.of(Map.of(new Component(TestComponent.class, null), 1));
+
+            assertEquals(ComponentRegistry.ABSENT, registry.slot(ComponentRef.of(Dependency.class)));
+            assertNull(registry.get(new Component(TestComponent.class, new NamedLiteral("other"))));
+        }
+
+        @Test
+        void should_keep_slot_of_component_stable() {
+            ComponentRegistry<Integer> registry = ComponentRegistry.of(Map.of(new Component(TestComponent.class, null), 1, new Component(Dependency.class, null), 2));
+
+            int slot = registry.slot(ComponentRef.of(Dependency.class));
+
+            assertEquals(slot, registry.slot(new Component(Dependency.class, null)));
+            assertEquals(Integer.valueOf(2), registry.value(slot));
+        }
+
+        @Test
+        void should_size_registry_from_entries_it_copies() {
+            Map<Component, Integer> entries = Map.of(new Component(TestComponent.class, null), 1, new Component(Dependency.class, null), 2,
+                    new Component(AnotherDependency.class, null), 3);
+            Map<Component, Integer> growing = new AbstractMap<>() {
+                @Override
+                public Set<Entry<Component, Integer>> entrySet() {
+                    return entries.entrySet();
+                }
+
+                @Override
+                public int size() {
+                    return 0;
+                }
+            };
+
+            ComponentRegistry<Integer> registry = ComponentRegistry.of(growing);
+
+            assertEquals(3, registry.size());
+            assertEquals(Integer.valueOf(3), registry.get(ComponentRef.of(AnotherDependency.class)));
+        }
+    }
+
+    @Nested
+    class Stress {
+        static final int TASKS = 2000;
+
+        static class Constructions {
+            final Map<Class<?>, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+            void constructed(Class<?> type) {
+                counts.computeIfAbsent(type, t -> new AtomicInteger()).incrementAndGet();
+            }
+
+            int of(Class<?> type) {
+                return counts.getOrDefault(type, new AtomicInteger()).get();
+            }
+        }
+
+        @Singleton
+        static class Shared {
+            @Inject
+            Dependency dependency;
+
+            @Inject
+            Shared(Constructions constructions) {
+                constructions.constructed(Shared.class);
+            }
+        }
+
+        @Singleton
+        static class Outer {
+            final Shared shared;
+
+            @Inject
+            Outer(Shared shared, Constructions constructions) {
+                this.shared = shared;
+                constructions.constructed(Outer.class);
+            }
+        }
+
+        @Cached(ttl = 1, unit = TimeUnit.HOURS)
+        static class Session {
+            @Inject
+            Session(Constructions constructions) {
+                constructions.constructed(Session.class);
+            }
+        }
+
+        static class Request {
+            final Shared shared;
+            final Session session;
+            @Inject
+            Provider<Shared> provider;
+            @Inject
+            Outer outer;
+
+            @Inject
+            Request(Shared shared, Session session) {
+                this.shared = shared;
+                this.session = session;
+            }
+        }
+
+        static class Worker implements TestComponent {
+            final AtomicInteger users = new AtomicInteger();
+        }
+
+        private final Constructions constructions = new Constructions();
+
+        @BeforeEach
+        void setUp() {
+            config.instance(Constructions.class, constructions);
+            config.instance(Dependency.class, dependency);
+            config.component(Shared.class, Shared.class);
+            config.component(Outer.class, Outer.class);
+            config.component(Session.class, Session.class);
+            config.component(Request.class, Request.class);
+            config.component(TestComponent.class, Worker.class, new PooledLiteral());
+        }
+
+        static Stream<Arguments> threads() {
+            return Stream.of(Arguments.of(Named.of("platform threads", (Supplier<ExecutorService>) () -> Executors.newFixedThreadPool(16))),
+                    Arguments.of(Named.of("virtual threads", (Supplier<ExecutorService>) () -> {
+                        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "virtual threads need JDK 21");
+                        return Threads.executor();
+                    })));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("threads")
+        void should_construct_singletons_once(Supplier<ExecutorService> threads) throws Exception {
+            Context context = config.getContext();
+
+            List<Object> singletons = inParallel(threads, TASKS, i -> i % 2 == 0
+                    ? context.get(ComponentRef.of(Outer.class)).get().shared
+                    : context.get(new ComponentRef<Provider<Shared>>() {
+                    }).get().get());
+
+            assertEquals(1, singletons.stream().distinct().count());
+            assertEquals(1, constructions.of(Shared.class));
+            assertEquals(1, constructions.of(Outer.class));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("threads")
+        void should_publish_injected_fields_safely(Supplier<ExecutorService> threads) throws Exception {
+            Context context = config.getContext();
+
+            List<Request> requests = inParallel(threads, TASKS, i -> context.get(ComponentRef.of(Request.class)).get());
+
+            assertEquals(TASKS, requests.stream().distinct().count());
+            for (Request request : requests) {
+                assertSame(dependency, request.shared.dependency);
+                assertSame(request.shared, request.provider.get());
+                assertSame(request.shared, request.outer.shared);
+            }
+            assertEquals(1, requests.stream().map(r -> r.session).distinct().count());
+            assertEquals(1, constructions.of(Session.class));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("threads")
+        void should_not_share_pooled_instance_between_threads(Supplier<ExecutorService> threads) throws Exception {
+            Context context = config.getContext();
+            ComponentRef<TestComponent> ref = ComponentRef.of(TestComponent.class);
+
+            List<Integer> users = inParallel(threads, TASKS, i -> {
+                Worker worker = (Worker) context.get(ref).get();
+                int concurrent = worker.users.incrementAndGet();
+                worker.users.decrementAndGet();
+                context.release(ref, worker);
+                return concurrent;
+            });
+
+            assertTrue(users.stream().allMatch(u -> u == 1));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("threads")
+        void should_not_deadlock_when_dependencies_requested_in_opposite_order(Supplier<ExecutorService> threads) throws Exception {
+            Context context = config.getContext();
+
+            List<Shared> shared = inParallel(threads, TASKS, i -> i % 2 == 0
+                    ? context.get(ComponentRef.of(Shared.class)).get()
+                    : context.get(ComponentRef.of(Outer.class)).get().shared);
+
+            assertEquals(1, shared.stream().distinct().count());
+        }
+    }
+
+    @Nested
+    class Tracing {
+        static class Leaf {
+        }
+
+        @Singleton
+        static class Middle {
+            @Inject
+            Middle(Leaf leaf) {
+            }
+        }
+
+        static class Root {
+            @Inject
+            Root(Middle middle, Leaf leaf) {
+            }
+        }
+
+        private final List<ResolutionTrace> traces = new CopyOnWriteArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+            config.component(Leaf.class, Leaf.class);
+            config.component(Middle.class, Middle.class);
+            config.component(Root.class, Root.class);
+        }
+
+        private String tree(ResolutionTrace trace) {
+            String scope = trace.scope() == null ? "" : "@" + trace.scope().getSimpleName();
+            String dependencies = trace.dependencies().stream().map(this::tree).collect(Collectors.joining(", ", "[", "]"));
+            return trace.component().type().getSimpleName() + scope + (trace.dependencies().isEmpty() ? "" : dependencies);
+        }
+
+        @Test
+        void should_record_resolution_tree_of_sampled_get() {
+            config.trace(1, traces::add);
+
+            config.getContext().get(ComponentRef.of(Root.class));
+
+            assertEquals(1, traces.size());
+            assertEquals("Root[Middle@Singleton[Leaf], Leaf]", tree(traces.get(0)));
+        }
+
+        @Test
+        void should_include_nested_time_in_elapsed_nanos() {
+            config.trace(1, traces::add);
+
+            config.getContext().get(ComponentRef.of(Root.class));
+
+            ResolutionTrace root = traces.get(0);
+            assertTrue(root.nanos() > 0);
+            assertTrue(root.nanos() >= root.dependencies().stream().mapToLong(ResolutionTrace::nanos).sum());
+        }
+
+        @Test
+        void should_record_reused_singleton_without_dependencies() {
+            config.trace(1, traces::add);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(Middle.class));
+
+            context.get(ComponentRef.of(Root.class));
+
+            assertEquals("Root[Middle@Singleton, Leaf]", tree(traces.get(1)));
+        }
+
+        @Test
+        void should_not_record_unsampled_get() {
+            config.trace(Double.MIN_VALUE, traces::add);
+            Context context = config.getContext();
+
+            for (int i = 0; i < 100; i++) context.get(ComponentRef.of(Root.class));
+
+            assertTrue(traces.isEmpty());
+        }
+
+        @Test
+        void should_not_fail_resolution_if_sink_fails() {
+            config.trace(1, trace -> {
+                throw new IllegalStateException();
+            });
+
+            assertTrue(config.getContext().get(ComponentRef.of(Root.class)).isPresent());
+        }
+
+        @Test
+        void should_throw_exception_if_sample_rate_illegal() {
+            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class, () -> config.trace(0, traces::add));
+
+            assertEquals("Sample rate must be in (0, 1]: 0", exception.getMessage());
+        }
+    }
+
+    @Nested
+    class AllocationAccounting {
+        static class Buffer {
+            final byte[] bytes = new byte[1 << 20];
+        }
+
+        static class Handler {
+            @Inject
+            Handler(Buffer buffer) {
+            }
+        }
+
+        @BeforeEach
+        void setUp() {
+            config.component(Buffer.class, Buffer.class);
+            config.component(Handler.class, Handler.class);
+        }
+
+        @Test
+        void should_not_account_allocations_by_default() {
+            config.getContext().get(ComponentRef.of(Handler.class));
+
+            assertTrue(config.allocations().isEmpty());
+        }
+
+        @Test
+        void should_account_bytes_allocated_by_component_construction() {
+            config.accountAllocations();
+            Context context = config.getContext();
+
+            for (int i = 0; i < 10; i++) context.get(ComponentRef.of(Handler.class));
+
+            Allocation buffer = config.allocations().get(new Component(Buffer.class, null));
+            assertEquals(10, buffer.resolutions());
+            assertTrue(buffer.bytesPerResolution() >= 1 << 20);
+        }
+
+        @Test
+        void should_not_charge_nested_construction_to_dependent() {
+            config.accountAllocations();
+            Context context = config.getContext();
+
+            for (int i = 0; i < 10; i++) context.get(ComponentRef.of(Handler.class));
+
+            Allocation handler = config.allocations().get(new Component(Handler.class, null));
+            assertEquals(10, handler.resolutions());
+            assertTrue(handler.bytesPerResolution() > 0);
+            assertTrue(handler.bytesPerResolution() < 1 << 20);
+        }
+
+        @Test
+        void should_reset_accounting_of_rebound_component() {
+            config.accountAllocations();
+            config.getContext().get(ComponentRef.of(Buffer.class));
+
+            config.rebind(Buffer.class, Buffer.class);
+
+            assertNull(config.allocations().get(new Component(Buffer.class, null)));
+        }
+    }
+
+    @Nested
+    class BatchResolution {
+        @Singleton
+        static class Shared {
+        }
+
+        static class PerRequest {
+            @Inject
+            Shared shared;
+        }
+
+        @BeforeEach
+        void setUp() {
+            config.component(Shared.class, Shared.class);
+            config.component(PerRequest.class, PerRequest.class);
+            config.instance(Dependency.class, dependency);
+        }
+
+        @Test
+        void should_get_all_components_in_order() {
+            Context context = config.getContext();
+
+            Object[] instances = context.getAll(ComponentRef.of(Dependency.class), ComponentRef.of(Shared.class), ComponentRef.of(TestComponent.class));
+
+            assertSame(dependency, instances[0]);
+            assertSame(context.get(ComponentRef.of(Shared.class)).get(), instances[1]);
+            assertNull(instances[2]);
+        }
+
+        @Test
+        void should_resolve_batch_on_every_call() {
+            Context context = config.getContext();
+            Context.Batch batch = context.batch(ComponentRef.of(PerRequest.class), ComponentRef.of(Shared.class));
+
+            Object[] first = batch.get();
+            Object[] second = batch.get();
+
+            assertNotSame(first[0], second[0]);
+            assertSame(first[1], second[1]);
+            assertSame(first[1], ((PerRequest) first[0]).shared);
+        }
+
+        @Test
+        void should_resolve_containers_in_batch() {
+            config.contributeInstance(AnotherDependency.class, new AnotherDependency() {
+            });
+            Context context = config.getContext();
+            Context.Batch batch = context.batch(new ComponentRef<Provider<PerRequest>>() {
+            }, new ComponentRef<List<AnotherDependency>>() {
+            });
+
+            Object[] instances = batch.get();
+
+            assertInstanceOf(PerRequest.class, ((Provider<?>) instances[0]).get());
+            assertEquals(1, ((List<?>) instances[1]).size());
+        }
+
+        @Test
+        void should_throw_exception_if_batched_component_not_bound() {
+            Context context = config.getContext();
+
+            ContextConfig.ContextConfigException exception = assertThrows(ContextConfig.ContextConfigException.class,
+                    () -> context.batch(ComponentRef.of(Shared.class), ComponentRef.of(TestComponent.class)));
+
+            assertEquals("Unknown component: " + new Component(TestComponent.class, null), exception.getMessage());
+        }
+
+        @Test
+        void should_resolve_batch_through_get_when_traced() {
+            List<ResolutionTrace> traces = new ArrayList<>();
+            config.trace(1, traces::add);
+            Context context = config.getContext();
+
+            context.batch(ComponentRef.of(PerRequest.class), ComponentRef.of(Dependency.class)).get();
+
+            assertEquals(2, traces.size());
+        }
+    }
+
+    @Nested
+    class ResolutionScopedInstances {
+        static class Constructions {
+            final AtomicInteger count = new AtomicInteger();
+        }
+
+        @ResolutionScoped
+        static class Session {
+            @Inject
+            Session(Constructions constructions) {
+                constructions.count.incrementAndGet();
+            }
+        }
+
+        static class Repository {
+            @Inject
+            Session session;
+        }
+
+        static class Service {
+            final Session session;
+            final Repository repository;
+            final Repository another;
+
+            @Inject
+            Service(Session session, Repository repository, Repository another) {
+                this.session = session;
+                this.repository = repository;
+                this.another = another;
+            }
+        }
+
+        private final Constructions constructions = new Constructions();
+
+        @BeforeEach
+        void setUp() {
+            config.instance(Constructions.class, constructions);
+            config.component(Session.class, Session.class);
+            config.component(Repository.class, Repository.class);
+            config.component(Service.class, Service.class);
+        }
+
+        @Test
+        void should_share_instance_within_one_get() {
+            Service service = config.getContext().get(ComponentRef.of(Service.class)).get();
+
+            assertSame(service.session, service.repository.session);
+            assertSame(service.session, service.another.session);
+            assertNotSame(service.repository, service.another);
+            assertEquals(1, constructions.count.get());
+        }
+
+        @Test
+        void should_create_new_instance_for_each_get() {
+            Context context = config.getContext();
+
+            Service service = context.get(ComponentRef.of(Service.class)).get();
+            Service another = context.get(ComponentRef.of(Service.class)).get();
+
+            assertNotSame(service.session, another.session);
+            assertEquals(2, constructions.count.get());
+        }
+
+        @Test
+        void should_behave_as_prototype_outside_get() {
+            Provider<Session> provider = config.getContext().get(new ComponentRef<Provider<Session>>() {
+            }).get();
+
+            assertNotSame(provider.get(), provider.get());
+        }
+
+        static class Sessions {
+            @Inject
+            List<Session> sessions;
+            @Inject
+            List<Session> again;
+        }
+
+        @Test
+        void should_share_contributed_instance_within_one_get() {
+            ContextConfig config = new ContextConfig();
+            config.instance(Constructions.class, constructions);
+            config.contribute(Session.class, Session.class);
+            config.component(Sessions.class, Sessions.class);
+
+            Sessions sessions = config.getContext().get(ComponentRef.of(Sessions.class)).get();
+
+            assertSame(sessions.sessions.get(0), sessions.again.get(0));
+            assertEquals(1, constructions.count.get());
+        }
+
+        @Test
+        void should_share_instance_within_batch_element_only() {
+            Object[] instances = config.getContext().getAll(ComponentRef.of(Service.class), ComponentRef.of(Service.class));
+
+            assertNotSame(((Service) instances[0]).session, ((Service) instances[1]).session);
+            assertSame(((Service) instances[1]).session, ((Service) instances[1]).repository.session);
+        }
+    }
+
+    @Nested
+    class QualifiedLookup {
+        static class Strategy implements TestComponent {
+        }
+
+        @Test
+        void should_get_all_qualified_bindings_of_type() {
+            config.component(TestComponent.class, Strategy.class, new NamedLiteral("first"));
+            config.component(TestComponent.class, Strategy.class, new NamedLiteral("second"));
+            config.component(TestComponent.class, Strategy.class);
+            config.instance(Dependency.class, dependency, new NamedLiteral("first"));
+
+            Map<Annotation, Provider<TestComponent>> strategies = config.getContext().getAllQualified(TestComponent.class);
+
+            assertEquals(Set.of(new NamedLiteral("first"), new NamedLiteral("second")), strategies.keySet());
+            assertInstanceOf(Strategy.class, strategies.get(new NamedLiteral("first")).get());
+        }
+
+        @Test
+        void should_resolve_qualified_binding_with_its_scope() {
+            config.component(TestComponent.class, Strategy.class, new NamedLiteral("shared"), new SingletonLiteral());
+            Context context = config.getContext();
+
+            Provider<TestComponent> provider = context.getAllQualified(TestComponent.class).get(new NamedLiteral("shared"));
+
+            assertSame(provider.get(), provider.get());
+            assertSame(provider.get(), context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("shared"))).get());
+        }
+
+        @Test
+        void should_return_empty_if_no_qualified_binding() {
+            config.component(TestComponent.class, Strategy.class);
+
+            assertTrue(config.getContext().getAllQualified(TestComponent.class).isEmpty());
+            assertTrue(config.getContext().getAllQualified(Dependency.class).isEmpty());
+        }
+
+        @Test
+        void should_not_modify_qualified_bindings() {
+            config.component(TestComponent.class, Strategy.class, new NamedLiteral("first"));
+
+            Map<Annotation, Provider<TestComponent>> strategies = config.getContext().getAllQualified(TestComponent.class);
+
+            assertThrows(UnsupportedOperationException.class, () -> strategies.put(new NamedLiteral("other"), Strategy::new));
+        }
+    }
+
+    @Nested
+    class Rebinding {
+        static class AnotherSingleton implements AnotherDependency {
+        }
+
+        @Test
+        void should_replace_bound_instance() {
+            config.instance(TestComponent.class, instance);
+            config.getContext();
+            TestComponent another = new TestComponent() {
+            };
+            config.rebindInstance(TestComponent.class, another);
+
+            assertSame(another, config.getContext().get(ComponentRef.of(TestComponent.class)).get());
+        }
+
+        @Test
+        void should_replace_bound_component_with_qualifier() {
+            config.instance(Dependency.class, dependency);
+            config.instance(TestComponent.class, instance, new SkywalkerLiteral());
+            config.getContext();
+            config.rebind(TestComponent.class, TypeBindingTest.ConstructionInjection.class, new SkywalkerLiteral());
+
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())).get();
+            assertSame(dependency, component.dependency());
+        }
+
+        @Test
+        void should_rebuild_singleton_depending_on_rebound_component() {
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, TypeBindingTest.ConstructionInjection.class, new SingletonLiteral());
+            TestComponent before = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+
+            Dependency another = new Dependency() {
+            };
+            config.rebindInstance(Dependency.class, another);
+
+            TestComponent after = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+            assertNotSame(before, after);
+            assertSame(another, after.dependency());
+        }
+
+        @Test
+        void should_keep_singleton_in_context_created_before_rebinding() {
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, TypeBindingTest.ConstructionInjection.class, new SingletonLiteral());
+            Context context = config.getContext();
+            TestComponent before = context.get(ComponentRef.of(TestComponent.class)).get();
+
+            config.rebindInstance(Dependency.class, new Dependency() {
+            });
+
+            assertSame(before, context.get(ComponentRef.of(TestComponent.class)).get());
+            assertSame(dependency, context.get(ComponentRef.of(TestComponent.class)).get().dependency());
+        }
+
+        @Test
+        void should_keep_singleton_not_affected_by_rebinding() {
+            config.instance(Dependency.class, dependency);
+            config.component(AnotherDependency.class, AnotherSingleton.class, new SingletonLiteral());
+            AnotherDependency before = config.getContext().get(ComponentRef.of(AnotherDependency.class)).get();
+
+            config.rebindInstance(Dependency.class, new Dependency() {
+            });
+
+            assertSame(before, config.getContext().get(ComponentRef.of(AnotherDependency.class)).get());
+        }
+
+        @Test
+        void should_check_components_affected_by_rebinding() {
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, DependencyCheckTest.CyclicComponentInjectConstructor.class);
+            config.getContext();
+
+            config.rebind(Dependency.class, DependencyCheckTest.CyclicDependencyInjectField.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        @Test
+        void should_check_component_added_after_context_created() {
+            config.instance(Dependency.class, dependency);
+            config.getContext();
+
+            config.component(AnotherDependency.class, DependencyCheckTest.IndirectCyclicAnotherDependencyInjectField.class);
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+    }
+
     @Nested
     class DSL {
         interface Api {
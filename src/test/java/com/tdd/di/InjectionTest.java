@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.openjdk.jol.info.GraphLayout;
 
 import java.lang.reflect.ParameterizedType;
 import java.util.Optional;
@@ -528,5 +529,55 @@ class InjectionTest {
 
     }
 
-}
+    @Nested
+    class Footprint {
+        static final int BINDINGS = 1000;
+
+        static class NoInjectionPoint {
+        }
+
+        static class InjectionPoints {
+            @Inject
+            Dependency field;
+
+            @Inject
+            InjectionPoints(Dependency dependency) {
+            }
+
+            @Inject
+            void install(Dependency dependency) {
+            }
+        }
 
+        private static long bytesPerBinding(Class<?> component) {
+            InjectionProvider<?>[] providers = new InjectionProvider<?>[BINDINGS];
+            for (int i = 0; i < BINDINGS; i++) providers[i] = new InjectionProvider<>(component);
+            long one = GraphLayout.parseInstance((Object) providers[0]).totalSize();
+            long all = GraphLayout.parseInstance((Object[]) providers).totalSize();
+            return (all - one) / (BINDINGS - 1);
+        }
+
+        @Test
+        void should_keep_component_without_injection_points_small() {
+            long bytes = bytesPerBinding(NoInjectionPoint.class);
+
+            assertTrue(bytes <= 160, bytes + " bytes per binding");
+        }
+
+        @Test
+        void should_keep_injection_points_compact() {
+            long bytes = bytesPerBinding(InjectionPoints.class);
+
+            assertTrue(bytes <= 768, bytes + " bytes per binding");
+        }
+
+        @Test
+        void should_share_empty_metadata() {
+            InjectionProvider<NoInjectionPoint> provider = new InjectionProvider<>(NoInjectionPoint.class);
+            InjectionProvider<NoInjectionPoint> another = new InjectionProvider<>(NoInjectionPoint.class);
+
+            assertSame(provider.injectMembers(), another.injectMembers());
+            assertSame(provider.injectConstructor().required(), another.injectConstructor().required());
+        }
+    }
+}
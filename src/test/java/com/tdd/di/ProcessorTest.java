@@ -0,0 +1,288 @@
+package com.tdd.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.processing.Processor;
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessorTest {
+    private Path output;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        output = Files.createTempDirectory("processor");
+    }
+
+    record Source(String name, String code) {
+    }
+
+    record Compilation(boolean success, List<String> errors) {
+    }
+
+    private Compilation compile(Processor processor, Source... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            files.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            List<JavaFileObject> units = Arrays.stream(sources).<JavaFileObject>map(s -> new SimpleJavaFileObject(URI.create("string:///" + s.name().replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                    return s.code();
+                }
+            }).toList();
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    List.of("-proc:only", "-classpath", System.getProperty("java.class.path")), null, units);
+            task.setProcessors(List.of(processor));
+            boolean success = task.call();
+            return new Compilation(success, diagnostics.getDiagnostics().stream()
+                    .filter(d -> d.getKind() == Diagnostic.Kind.ERROR).map(d -> d.getMessage(null)).toList());
+        }
+    }
+
+    private boolean generated(String resource) {
+        return new File(output.toFile(), resource).exists();
+    }
+
+    private List<String> lines(String resource) throws IOException {
+        return Files.readAllLines(output.resolve(resource));
+    }
+
+    @Nested
+    class DependencyGraphTest {
+        private static final Source COMPONENTS = new Source("sample.Components", """
+                package sample;
+                import jakarta.inject.*;
+                interface Api {}
+                interface Dependency {}
+                class Implementation implements Api {
+                    @Inject Implementation(Dependency dependency) {}
+                }
+                class DependencyImpl implements Dependency {
+                    @Inject Provider<Api> api;
+                }
+                class CyclicDependency implements Dependency {
+                    @Inject void install(Api api) {}
+                }
+                class Components {}
+                """);
+
+        @Test
+        void should_mark_config_as_validated_if_dependencies_satisfied() throws IOException {
+            Compilation compilation = compile(new DependencyGraphProcessor(), COMPONENTS, new Source("sample.Valid", """
+                    package sample;
+                    import com.tdd.di.Config;
+                    public class Valid implements Config {
+                        @Export(Api.class) Implementation api;
+                        @Export(Dependency.class) DependencyImpl dependency;
+                    }
+                    """));
+
+            assertTrue(compilation.success());
+            assertTrue(generated(DependencyGraphProcessor.VALIDATED + "sample.Valid"));
+        }
+
+        @Test
+        void should_record_validated_graph_in_marker() throws IOException {
+            compile(new DependencyGraphProcessor(), COMPONENTS, new Source("sample.Valid", """
+                    package sample;
+                    import com.tdd.di.Config;
+                    public class Valid implements Config {
+                        @Export(Api.class) Implementation api;
+                        @Export(Dependency.class) DependencyImpl dependency;
+                    }
+                    """));
+
+            assertEquals(List.of("Component[type=sample.Api, qualifier=null]",
+                    "Component[type=sample.Api, qualifier=null] -> Component[type=sample.Dependency, qualifier=null]",
+                    "Component[type=sample.Dependency, qualifier=null]",
+                    "Component[type=sample.Dependency, qualifier=null] -> jakarta.inject.Provider Component[type=sample.Api, qualifier=null]"),
+                    lines(DependencyGraphProcessor.VALIDATED + "sample.Valid"));
+        }
+
+        @Test
+        void should_report_unsatisfied_resolution_at_compile_time() throws IOException {
+            Compilation compilation = compile(new DependencyGraphProcessor(), COMPONENTS, new Source("sample.Unsatisfied", """
+                    package sample;
+                    import com.tdd.di.Config;
+                    public class Unsatisfied implements Config {
+                        @Export(Api.class) Implementation api;
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertEquals(List.of("Unsatisfied resolution: Component[type=sample.Dependency, qualifier=null] for Component[type=sample.Api, qualifier=null] "), compilation.errors());
+            assertFalse(generated(DependencyGraphProcessor.VALIDATED + "sample.Unsatisfied"));
+        }
+
+        @Test
+        void should_report_circular_dependencies_at_compile_time() throws IOException {
+            Compilation compilation = compile(new DependencyGraphProcessor(), COMPONENTS, new Source("sample.Circular", """
+                    package sample;
+                    import com.tdd.di.Config;
+                    public class Circular implements Config {
+                        @Export(Api.class) Implementation api;
+                        @Export(Dependency.class) CyclicDependency dependency;
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertEquals(1, compilation.errors().size());
+            assertTrue(compilation.errors().get(0).startsWith("Circular dependencies: "));
+        }
+
+        @Test
+        void should_treat_initialized_field_as_instance_without_dependencies() throws IOException {
+            Compilation compilation = compile(new DependencyGraphProcessor(), COMPONENTS, new Source("sample.Instance", """
+                    package sample;
+                    import com.tdd.di.Config;
+                    public class Instance implements Config {
+                        @Export(Api.class) Implementation api = new Implementation(null);
+                    }
+                    """));
+
+            assertTrue(compilation.success());
+            assertTrue(generated(DependencyGraphProcessor.VALIDATED + "sample.Instance"));
+        }
+
+        @Test
+        void should_distinguish_dependencies_by_qualifier() throws IOException {
+            Compilation compilation = compile(new DependencyGraphProcessor(), COMPONENTS, new Source("sample.Qualified", """
+                    package sample;
+                    import com.tdd.di.Config;
+                    import jakarta.inject.*;
+                    class NamedDependency implements Dependency {
+                        @Inject NamedDependency(@Named("one") Api api) {}
+                    }
+                    public class Qualified implements Config {
+                        @Named("two") @Export(Api.class) Implementation api;
+                        @Export(Dependency.class) NamedDependency dependency;
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertEquals(List.of("Unsatisfied resolution: Component[type=sample.Api, qualifier=jakarta.inject.Named(value=\"one\")] for Component[type=sample.Dependency, qualifier=null] "), compilation.errors());
+        }
+
+        @Test
+        void should_skip_runtime_validation_of_config_matching_marker() {
+            ContextConfig config = new ContextConfig();
+            config.from(new MatchedConfig());
+            assertDoesNotThrow(() -> config.getContext());
+        }
+
+        @Test
+        void should_validate_marked_config_if_marker_not_matching_graph() {
+            ContextConfig config = new ContextConfig();
+            config.from(new MarkedConfig());
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        @Test
+        void should_still_validate_components_outside_marked_config() {
+            ContextConfig config = new ContextConfig();
+            config.from(new MatchedConfig());
+            config.component(Dependency.class, ContextTest.DependencyCheckTest.IndirectCyclicDependencyInjectField.class, new SkywalkerLiteral());
+            assertThrows(ContextConfig.ContextConfigError.class, () -> config.getContext());
+        }
+
+        static class MatchedConfig implements Config {
+            @Export(Dependency.class)
+            ContextTest.DependencyCheckTest.CyclicDependencyInjectField dependency;
+        }
+
+        static class MarkedConfig implements Config {
+            @Export(Dependency.class)
+            ContextTest.DependencyCheckTest.CyclicDependencyInjectField dependency;
+        }
+    }
+
+    @Nested
+    class ComponentIndexTest {
+        @Test
+        void should_index_injectable_and_scoped_classes() throws IOException {
+            Compilation compilation = compile(new ComponentIndexProcessor(), new Source("sample.Components", """
+                    package sample;
+                    import jakarta.inject.*;
+                    class InjectConstructor {
+                        @Inject InjectConstructor(Runnable runnable) {}
+                    }
+                    @Singleton
+                    class SingletonComponent {}
+                    class Outer {
+                        static class InjectField {
+                            @Inject Runnable runnable;
+                        }
+                        class Inner {
+                            @Inject void install() {}
+                        }
+                    }
+                    abstract class AbstractComponent {
+                        @Inject Runnable runnable;
+                    }
+                    class PlainClass {}
+                    """));
+
+            assertTrue(compilation.success());
+            assertEquals(List.of("sample.InjectConstructor", "sample.Outer$InjectField", "sample.SingletonComponent"),
+                    Files.readAllLines(output.resolve(ComponentIndexProcessor.INDEX)));
+        }
+
+        @Test
+        void should_not_generate_index_if_no_component_found() throws IOException {
+            Compilation compilation = compile(new ComponentIndexProcessor(), new Source("sample.PlainClass", """
+                    package sample;
+                    class PlainClass {}
+                    """));
+
+            assertTrue(compilation.success());
+            assertFalse(generated(ComponentIndexProcessor.INDEX));
+        }
+
+        static class DiscoveredDependency implements Dependency {
+        }
+
+        @Singleton
+        @Skywalker
+        static class DiscoveredComponent implements TestComponent {
+            @Inject
+            DiscoveredDependency dependency;
+
+            @Override
+            public Dependency dependency() {
+                return dependency;
+            }
+        }
+
+        @Test
+        void should_bind_components_listed_in_index() {
+            ContextConfig config = new ContextConfig();
+            config.discover();
+            Context context = config.getContext();
+
+            TestComponent component = context.get(ComponentRef.of(DiscoveredComponent.class, new SkywalkerLiteral())).get();
+            assertNotNull(component.dependency());
+            assertSame(component, context.get(ComponentRef.of(DiscoveredComponent.class, new SkywalkerLiteral())).get());
+        }
+
+        @Test
+        void should_throw_exception_if_discovered_component_already_bound() {
+            ContextConfig config = new ContextConfig();
+            config.instance(DiscoveredComponent.class, new DiscoveredComponent(), new SkywalkerLiteral());
+            assertThrows(ContextConfig.ContextConfigException.class, () -> config.discover());
+            assertTrue(config.getContext().get(ComponentRef.of(DiscoveredDependency.class)).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tdd.di;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+public class RegistryBenchmark {
+    private static final int[] BINDINGS = {1_000, 10_000, 100_000};
+    private static final int LOOKUPS = 2_000_000;
+    private static final Class<?>[] TYPES = {TestComponent.class, Dependency.class, AnotherDependency.class};
+
+    public static void main(String[] args) {
+        System.out.println("bindings  structure          bytes/binding  ns/lookup");
+        for (int bindings : BINDINGS) {
+            Map<Component, ComponentProvider<?>> components = new HashMap<>();
+            ComponentRef<?>[] refs = new ComponentRef<?>[bindings];
+            for (int i = 0; i < bindings; i++) {
+                refs[i] = ComponentRef.of(TYPES[i % TYPES.length], new NamedLiteral("component-" + i));
+                Object instance = i;
+                components.put(refs[i].component(), context -> instance);
+            }
+            Map<Component, ComponentProvider<?>> copy = Map.copyOf(components);
+            ComponentRegistry<ComponentProvider<?>> registry = ComponentRegistry.of(components);
+            long shared = GraphLayout.parseInstance(Stream.concat(components.keySet().stream(), components.values().stream()).toArray()).totalSize();
+
+            report(bindings, "HashMap", components, shared, ref -> components.get(ref.component()) == null ? 0 : 1, refs);
+            report(bindings, "Map.copyOf", copy, shared, ref -> copy.get(ref.component()) == null ? 0 : 1, refs);
+            report(bindings, "ComponentRegistry", registry, shared, ref -> registry.slot(ref) == ComponentRegistry.ABSENT ? 0 : 1, refs);
+        }
+    }
+
+    private static void report(int bindings, String structure, Object map, long shared, ToIntFunction<ComponentRef<?>> lookup, ComponentRef<?>[] refs) {
+        long bytes = (GraphLayout.parseInstance(map).totalSize() - shared) / bindings;
+        for (int i = 0; i < 5; i++) lookups(lookup, refs);
+        long nanos = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) nanos = Math.min(nanos, lookups(lookup, refs));
+        System.out.printf("%8d  %-17s  %13d  %9.1f%n", bindings, structure, bytes, (double) nanos / LOOKUPS);
+    }
+
+    private static long lookups(ToIntFunction<ComponentRef<?>> lookup, ComponentRef<?>[] refs) {
+        int found = 0;
+        int index = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++, index = (index + 7919) % refs.length) found += lookup.applyAsInt(refs[index]);
+        long nanos = System.nanoTime() - start;
+        if (found != LOOKUPS) throw new IllegalStateException("Missing components");
+        return nanos;
+    }
+}
@@ -83,26 +83,40 @@ record SingletonLiteral() implements Singleton {
     }
 }
 
+record PooledLiteral() implements Pooled {
+    public static final int MAX = 2;
+
+    @Override
+    public int max() {
+        return MAX;
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return Pooled.class;
+    }
+}
+
 @Scope
 @Documented
 @Retention(RUNTIME)
-@interface Pooled {
+@interface Recycled {
 }
 
-record PooledLiteral() implements Pooled {
+record RecycledLiteral() implements Recycled {
     @Override
     public Class<? extends Annotation> annotationType() {
-        return Pooled.class;
+        return Recycled.class;
     }
 }
 
-class PooledProvider<T> implements ComponentProvider<T> {
+class RecycledProvider<T> implements ComponentProvider<T> {
     public static final int MAX = 2;
     private List<T> pool = new ArrayList<>();
     private int current;
     private ComponentProvider<T> provider;
 
-    public PooledProvider(final ComponentProvider<T> provider) {
+    public RecycledProvider(final ComponentProvider<T> provider) {
         this.provider = provider;
     }
 
@@ -119,4 +133,3 @@ class PooledProvider<T> implements ComponentProvider<T> {
         return provider.getDependencies();
     }
 }
-